@@ -0,0 +1,146 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.OrdenContactos;
+import app.ResultadoOperacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Operaciones sueltas de Agenda sobre una agenda ya cargada con "tamanio" contactos.
+ *
+ * - anadirYEliminar: alta seguida de baja del mismo contacto (así el tamaño no cambia entre llamadas).
+ * - buscarPorPrefijo / buscarPorTelefono / buscarSimilares / listarPagina: la primera llamada (dentro del warmup)
+ *   construye el índice.
+ * - Para cargas y bajas masivas ver CargaAgendaBenchmark.
+ * - Con tamanio=10000000 hace falta heap grande: -jvmArgsAppend -Xmx8g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgendaBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int tamanio;
+
+    @Param({DatosBenchmark.ALMACEN_MEMORIA, DatosBenchmark.ALMACEN_COLUMNAR, DatosBenchmark.ALMACEN_CONCURRENTE})
+    String almacen;
+
+    private static final int LARGO_PREFIJO = 3;
+    private static final int LIMITE_PREFIJO = 10;
+    private static final int LIMITE_SIMILARES = 3;
+    private static final int LIMITE_PAGINA = 50;
+
+    private Agenda agenda;
+    private Contacto[] contactos;
+    private Contacto extra;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark.silenciarConsola();
+        contactos = DatosBenchmark.crearContactos(tamanio);
+        agenda = DatosBenchmark.crearAgendaCon(almacen, contactos, 1);
+        extra = new Contacto("Extra", "Benchmark", "5500000000");
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        DatosBenchmark.restaurarConsola();
+    }
+
+    @Benchmark
+    public ResultadoOperacion anadirYEliminar() {
+        agenda.anadirContacto(extra);
+        return agenda.eliminarContactoPorId(extra.getId());
+    }
+
+    @Benchmark
+    public ResultadoOperacion anadirDuplicado() {
+        return agenda.anadirContacto(siguiente());
+    }
+
+    @Benchmark
+    public ResultadoOperacion eliminarInexistente() {
+        return agenda.eliminarContactoPorId(-1);
+    }
+
+    @Benchmark
+    public Contacto buscaContactoAcierto() {
+        Contacto contacto = siguiente();
+        return agenda.buscaContacto(contacto.getNombre(), contacto.getApellido());
+    }
+
+    @Benchmark
+    public Contacto buscaContactoFallo() {
+        return agenda.buscaContacto(siguiente().getNombre(), "NoExiste");
+    }
+
+    @Benchmark
+    public boolean existeContacto() {
+        Contacto contacto = siguiente();
+        return agenda.existeContacto(contacto.getNombre(), contacto.getApellido());
+    }
+
+    @Benchmark
+    public List<Contacto> buscarPorPrefijo() {
+        return agenda.buscarPorPrefijo(siguiente().getNombre().substring(0, LARGO_PREFIJO), LIMITE_PREFIJO);
+    }
+
+    @Benchmark
+    public List<Contacto> buscarSimilares() {
+        Contacto contacto = siguiente();
+        // Error tipográfico típico: falta la primera letra del nombre.
+        return agenda.buscarSimilares(contacto.getNombre().substring(1), contacto.getApellido(), LIMITE_SIMILARES);
+    }
+
+    @Benchmark
+    public Contacto buscarPorTelefono() {
+        return agenda.buscarPorTelefono(siguiente().getTelefono());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listarContactos(Blackhole bh) {
+        for (Contacto contacto : agenda.listarContactos()) {
+            bh.consume(contacto);
+        }
+    }
+
+    @Benchmark
+    public List<Contacto> listarPaginaPorApellido() {
+        // Offset que recorre toda la agenda: cada llamada salta a otra página.
+        return agenda.listarContactos(OrdenContactos.APELLIDO, cursorPagina(), LIMITE_PAGINA);
+    }
+
+    private int cursorPagina() {
+        siguiente();
+        return cursor;
+    }
+
+    private Contacto siguiente() {
+        Contacto contacto = contactos[cursor];
+        cursor = cursor + 1 == contactos.length ? 0 : cursor + 1;
+        return contacto;
+    }
+}
@@ -0,0 +1,82 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.ResultadoOperacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Agenda.concurrente(...) con lectores y escritores a la vez (grupo JMH "mixto": 3 lectores + 1 escritor).
+ * Para ver cómo escalan solo las lecturas: -t 1, -t 2, -t 4... sobre buscaContacto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgendaConcurrenteBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int tamanio;
+
+    private Agenda agenda;
+    private Contacto[] contactos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contactos = DatosBenchmark.crearContactos(tamanio);
+        agenda = DatosBenchmark.crearAgendaCon(DatosBenchmark.ALMACEN_CONCURRENTE, contactos, 64);
+    }
+
+    /**
+     * Contacto propio de cada hilo escritor (así varios escritores no chocan entre sí).
+     */
+    @State(Scope.Thread)
+    public static class Escritor {
+        Contacto extra;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            extra = new Contacto("Extra" + Thread.currentThread().threadId(), "Benchmark", "5500000000");
+        }
+    }
+
+    @Benchmark
+    public Contacto buscaContacto() {
+        Contacto contacto = contactos[ThreadLocalRandom.current().nextInt(contactos.length)];
+        return agenda.buscaContacto(contacto.getNombre(), contacto.getApellido());
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(3)
+    public Contacto mixtoLectura() {
+        return buscaContacto();
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(1)
+    public ResultadoOperacion mixtoEscritura(Escritor escritor) {
+        agenda.anadirContacto(escritor.extra);
+        return agenda.eliminarContactoPorId(escritor.extra.getId());
+    }
+}
@@ -0,0 +1,103 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.ReceptorEventos;
+import app.ReceptorEventosAsincrono;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Operaciones masivas (una medición = una agenda completa), donde se nota el coste asintótico:
+ * - cargar: N x anadirContacto sobre una agenda vacía.
+ * - cargarEnLote: una llamada a anadirContactos con los N contactos.
+ * - vaciar: N x eliminarContactoPorId sobre una agenda llena.
+ *
+ * "receptor" compara sin receptores, println síncrono por operación (comportamiento antiguo)
+ * y ReceptorEventosAsincrono (impresión por lotes fuera del hilo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CargaAgendaBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int tamanio;
+
+    @Param({DatosBenchmark.ALMACEN_MEMORIA, DatosBenchmark.ALMACEN_COLUMNAR, DatosBenchmark.ALMACEN_CONCURRENTE})
+    String almacen;
+
+    @Param({DatosBenchmark.RECEPTOR_NINGUNO, DatosBenchmark.RECEPTOR_CONSOLA, DatosBenchmark.RECEPTOR_ASINCRONO})
+    String receptor;
+
+    private Contacto[] contactos;
+    private ReceptorEventos receptorEventos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark.silenciarConsola();
+        contactos = DatosBenchmark.crearContactos(tamanio);
+        receptorEventos = DatosBenchmark.crearReceptor(receptor);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        if (receptorEventos instanceof ReceptorEventosAsincrono asincrono) {
+            asincrono.close();
+        }
+        DatosBenchmark.restaurarConsola();
+    }
+
+    /**
+     * Agenda ya cargada, recreada antes de cada iteración (solo la usa "vaciar").
+     */
+    @State(Scope.Benchmark)
+    public static class AgendaCargada {
+        Agenda agenda;
+
+        @Setup(Level.Iteration)
+        public void cargar(CargaAgendaBenchmark bench) {
+            agenda = DatosBenchmark.crearAgendaCon(bench.almacen, bench.receptorEventos, bench.contactos, 0);
+        }
+    }
+
+    @Benchmark
+    public Agenda cargar() {
+        return DatosBenchmark.crearAgendaCon(almacen, receptorEventos, contactos, 0);
+    }
+
+    @Benchmark
+    public Agenda cargarEnLote() {
+        Agenda agenda = DatosBenchmark.crearAgenda(almacen, contactos.length);
+        agenda.agregarReceptor(receptorEventos);
+        agenda.anadirContactos(Arrays.asList(contactos));
+        return agenda;
+    }
+
+    @Benchmark
+    public Agenda vaciar(AgendaCargada cargada) {
+        Agenda agenda = cargada.agenda;
+        for (Contacto contacto : contactos) {
+            agenda.eliminarContactoPorId(contacto.getId());
+        }
+        return agenda;
+    }
+}
@@ -0,0 +1,73 @@
+package app.bench;
+
+import app.Contacto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Creación y validación de Contacto. No depende del tamaño de la agenda, por eso no lleva @Param.
+ *
+ * Los "...EnParalelo" corren con todos los núcleos (@Threads(MAX)): con el generador por bloques el tiempo
+ * por operación debe quedarse plano al subir hilos; contadorCompartidoEnParalelo es la referencia
+ * de un único contador atómico (lo que había antes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactoBenchmark {
+
+    // Campos no final para que el JIT no los trate como constantes.
+    private String nombre = "  María ";
+    private String apellido = "García";
+    private String telefono = " 55 1234 5678 ";
+    private String nombreInvalido = "María José";
+
+    private final AtomicLong contadorCompartido = new AtomicLong();
+
+    @Benchmark
+    public Contacto crearValido() {
+        return new Contacto(nombre, apellido, telefono);
+    }
+
+    @Benchmark
+    public Object crearInvalido() {
+        try {
+            return new Contacto(nombreInvalido, apellido, telefono);
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Contacto crearValidoEnParalelo() {
+        return new Contacto(nombre, apellido, telefono);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long generarIdEnParalelo() {
+        return Contacto.getGeneradorIds().siguiente();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long contadorCompartidoEnParalelo() {
+        return contadorCompartido.getAndIncrement();
+    }
+}
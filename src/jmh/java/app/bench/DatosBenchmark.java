@@ -0,0 +1,93 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.ReceptorEventos;
+import app.ReceptorEventosAsincrono;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Datos y helpers compartidos por los benchmarks.
+ *
+ * Los nombres combinan nombres/apellidos frecuentes con un sufijo numérico para que
+ * (nombre + apellido) sea único y la agenda acepte todos los contactos.
+ */
+final class DatosBenchmark {
+
+    static final String ALMACEN_MEMORIA = "memoria";
+    static final String ALMACEN_COLUMNAR = "columnar";
+    static final String ALMACEN_CONCURRENTE = "concurrente";
+
+    static final String RECEPTOR_NINGUNO = "ninguno";
+    static final String RECEPTOR_CONSOLA = "consola";
+    static final String RECEPTOR_ASINCRONO = "asincrono";
+
+    private static final String[] NOMBRES = {
+            "María", "José", "Juan", "Ana", "Luis", "Carmen", "Pedro", "Lucía", "Jorge", "Sofía"
+    };
+    private static final String[] APELLIDOS = {
+            "García", "Rodríguez", "González", "Fernández", "López", "Martínez", "Sánchez", "Pérez"
+    };
+
+    private static final PrintStream SALIDA_ORIGINAL = System.out;
+
+    private DatosBenchmark() {
+    }
+
+    static Contacto[] crearContactos(int cantidad) {
+        Contacto[] contactos = new Contacto[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = NOMBRES[i % NOMBRES.length] + i;
+            String apellido = APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length];
+            contactos[i] = new Contacto(nombre, apellido, "55" + (10_000_000 + i));
+        }
+        return contactos;
+    }
+
+    static Agenda crearAgenda(String almacen, int capacidad) {
+        return switch (almacen) {
+            case ALMACEN_COLUMNAR -> Agenda.columnar(capacidad);
+            case ALMACEN_CONCURRENTE -> Agenda.concurrente(capacidad);
+            default -> new Agenda(capacidad);
+        };
+    }
+
+    static Agenda crearAgendaCon(String almacen, Contacto[] contactos, int capacidadExtra) {
+        return crearAgendaCon(almacen, null, contactos, capacidadExtra);
+    }
+
+    static Agenda crearAgendaCon(String almacen, ReceptorEventos receptor, Contacto[] contactos, int capacidadExtra) {
+        Agenda agenda = crearAgenda(almacen, contactos.length + capacidadExtra);
+        agenda.agregarReceptor(receptor);
+        for (Contacto contacto : contactos) {
+            agenda.anadirContacto(contacto);
+        }
+        return agenda;
+    }
+
+    /**
+     * @return null para "ninguno"; el asíncrono debe cerrarse al terminar.
+     */
+    static ReceptorEventos crearReceptor(String tipo) {
+        return switch (tipo) {
+            case RECEPTOR_CONSOLA -> ReceptorEventos.consola();
+            case RECEPTOR_ASINCRONO -> ReceptorEventosAsincrono.haciaConsola();
+            default -> null;
+        };
+    }
+
+    /**
+     * Los receptores de consola imprimen en System.out; en el fork del benchmark lo mandamos a la nada
+     * para medir el coste de la llamada y no el del terminal.
+     */
+    static void silenciarConsola() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    static void restaurarConsola() {
+        System.setOut(SALIDA_ORIGINAL);
+    }
+}
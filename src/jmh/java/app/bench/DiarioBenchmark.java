@@ -0,0 +1,108 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.DiarioAgenda;
+import app.ResultadoOperacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Coste del diario (DiarioAgenda).
+ * - escribir: alta + baja con el diario activo, variando cada cuántas operaciones se hace fsync.
+ * - reproducir: arrancar una agenda desde un diario con "tamanio" altas.
+ *
+ * Los archivos van al directorio temporal del sistema: para medir un disco concreto, -Djava.io.tmpdir=...
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiarioBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Escritura {
+        @Param({"1", "64", "4096"})
+        int opsPorFsync;
+
+        Path archivo;
+        Agenda agenda;
+        DiarioAgenda diario;
+        Contacto extra;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            archivo = Files.createTempFile("agenda-bench", ".diario");
+            Files.delete(archivo);
+            agenda = new Agenda(16);
+            diario = DiarioAgenda.abrir(archivo, agenda, opsPorFsync, 0);
+            extra = new Contacto("Extra", "Diario", "5500000000");
+        }
+
+        @TearDown(Level.Trial)
+        public void terminar() throws IOException {
+            diario.close();
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lectura {
+        @Param({"1000", "100000", "1000000"})
+        int tamanio;
+
+        Path archivo;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            archivo = Files.createTempFile("agenda-bench", ".diario");
+            Files.delete(archivo);
+
+            Agenda agenda = new Agenda(tamanio);
+            DiarioAgenda diario = DiarioAgenda.abrir(archivo, agenda, tamanio, 0);
+            try {
+                agenda.anadirContactos(Arrays.asList(DatosBenchmark.crearContactos(tamanio)));
+            } finally {
+                diario.close();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void terminar() throws IOException {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Benchmark
+    public ResultadoOperacion escribir(Escritura estado) {
+        estado.agenda.anadirContacto(estado.extra);
+        return estado.agenda.eliminarContactoPorId(estado.extra.getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Agenda reproducir(Lectura estado) throws IOException {
+        Agenda agenda = new Agenda(estado.tamanio);
+        DiarioAgenda.abrir(estado.archivo, agenda, 1, 0).close();
+        return agenda;
+    }
+}
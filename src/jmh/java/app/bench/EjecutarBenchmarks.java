@@ -0,0 +1,42 @@
+package app.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Punto de entrada de target/benchmarks.jar.
+ *
+ * Igual que org.openjdk.jmh.Main (acepta las mismas opciones), pero añade siempre el perfilador
+ * de asignaciones (-prof gc) para ver bytes/op junto al tiempo.
+ */
+public final class EjecutarBenchmarks {
+
+    // Opciones informativas (ayuda / listados): se delegan tal cual a JMH.
+    private static final Set<String> OPCIONES_INFORMATIVAS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (OPCIONES_INFORMATIVAS.contains(arg)) {
+                Main.main(args);
+                return;
+            }
+        }
+
+        Options opciones = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opciones).run();
+    }
+}
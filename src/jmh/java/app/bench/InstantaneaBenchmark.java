@@ -0,0 +1,66 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.InstantaneaAgenda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Arranque desde una InstantaneaAgenda: cargar (mapear) + primera búsqueda.
+ * Comparar con DiarioBenchmark.reproducir para el mismo tamaño.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstantaneaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int tamanio;
+
+    private Path archivo;
+    private Contacto buscado;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        Contacto[] contactos = DatosBenchmark.crearContactos(tamanio);
+        Agenda agenda = new Agenda(tamanio);
+        agenda.anadirContactos(Arrays.asList(contactos));
+        buscado = contactos[tamanio / 2];
+
+        archivo = Files.createTempFile("agenda-bench", ".instantanea");
+        InstantaneaAgenda.escribir(agenda, archivo);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark
+    public Contacto cargarYBuscar() throws IOException {
+        Agenda agenda = InstantaneaAgenda.cargar(archivo);
+        return agenda.buscaContacto(buscado.getNombre(), buscado.getApellido());
+    }
+}
@@ -0,0 +1,175 @@
+package app.bench;
+
+import app.ClienteBinario;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Arranque en frío: tiempo desde que se lanza la JVM hasta que termina la primera operación, por modo de app.Main.
+ *
+ * No es un benchmark JMH: cada medida es un proceso nuevo (java -jar con el jar del perfil "cds").
+ *   mvn -Pbenchmark,cds package
+ *   java -cp target/benchmarks.jar app.bench.MedicionArranque
+ *   java -cp target/benchmarks.jar -Drepeticiones=10 app.bench.MedicionArranque
+ *
+ * Modos (primera operación):
+ * - lotes:    un "add" por stdin, hasta leer su "OK" en stdout.
+ * - servidor: puerto libre, hasta recibir la respuesta de GET /estado.
+ * - binario:  puerto libre, hasta recibir la respuesta de ESTADO (ClienteBinario.contactos()).
+ *
+ * Variantes:
+ * - sin CDS:     -Xshare:off (todas las clases se cargan y verifican desde cero).
+ * - CDS del JDK: lo que hace la JVM por defecto (solo clases del JDK archivadas).
+ * - AppCDS:      @target/agenda-cds.args; antes se borra el archivo y se genera con Main --entrenar-cds.
+ *
+ * Informa la mediana en ms (incluye crear el proceso, que es igual en las tres variantes).
+ */
+public final class MedicionArranque {
+
+    private static final Path JAR = Path.of(System.getProperty("jar", "target/javaagenda-1.0.0.jar"));
+    private static final Path ARGS_CDS = Path.of(System.getProperty("argsCds", "target/agenda-cds.args"));
+    private static final Path ARCHIVO_CDS = Path.of(System.getProperty("archivoCds", "target/agenda.jsa"));
+    private static final int REPETICIONES = Integer.getInteger("repeticiones", 5);
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    private static final String[] MODOS = {"lotes", "servidor", "binario"};
+    private static final String[] VARIANTES = {"sin CDS", "CDS del JDK", "AppCDS"};
+
+    private MedicionArranque() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!Files.exists(JAR) || !Files.exists(ARGS_CDS)) {
+            System.err.println("Falta " + JAR + " o " + ARGS_CDS + ": compilar antes con mvn -Pbenchmark,cds package");
+            System.exit(1);
+        }
+
+        // Calentamiento (JIT) de este proceso, sin informe: su coste no debe contarse como arranque del hijo.
+        for (String modo : MODOS) {
+            medir(opcionesJvm(VARIANTES[1]), modo);
+        }
+
+        System.out.printf("Mediana de %d arranques, en ms (hasta terminar la primera operación)%n", REPETICIONES);
+        System.out.printf("%-12s%12s%12s%12s%n", "", MODOS[0], MODOS[1], MODOS[2]);
+        for (String variante : VARIANTES) {
+            List<String> opciones = opcionesJvm(variante);
+            if (variante.equals("AppCDS")) entrenar(opciones);
+
+            System.out.printf("%-12s", variante);
+            for (String modo : MODOS) {
+                long[] tiempos = new long[REPETICIONES];
+                for (int i = 0; i < REPETICIONES; i++) {
+                    tiempos[i] = medir(opciones, modo);
+                }
+                Arrays.sort(tiempos);
+                System.out.printf("%12.1f", tiempos[REPETICIONES / 2] / 1e6);
+            }
+            System.out.println();
+        }
+    }
+
+    private static List<String> opcionesJvm(String variante) {
+        return switch (variante) {
+            case "sin CDS" -> List.of("-Xshare:off");
+            case "AppCDS" -> List.of("@" + ARGS_CDS);
+            default -> List.of();
+        };
+    }
+
+    /**
+     * Genera el archivo AppCDS desde cero con la ejecución de entrenamiento.
+     */
+    private static void entrenar(List<String> opciones) throws Exception {
+        Files.deleteIfExists(ARCHIVO_CDS);
+        Process proceso = lanzar(opciones, "--entrenar-cds");
+        proceso.getInputStream().transferTo(OutputStream.nullOutputStream());
+        if (proceso.waitFor() != 0 || !Files.exists(ARCHIVO_CDS)) {
+            throw new IOException("El entrenamiento no generó " + ARCHIVO_CDS);
+        }
+    }
+
+    // -------------------------
+    // Una medida por modo
+    // -------------------------
+
+    /**
+     * @return Nanosegundos desde lanzar el proceso hasta terminar su primera operación.
+     */
+    private static long medir(List<String> opciones, String modo) throws Exception {
+        long inicio = System.nanoTime();
+        Process proceso = switch (modo) {
+            case "lotes" -> lanzar(opciones, "--lotes", "-");
+            case "servidor" -> lanzar(opciones, "--servidor", "0");
+            default -> lanzar(opciones, "--binario", "0");
+        };
+        try (BufferedReader salida = new BufferedReader(
+                new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+            switch (modo) {
+                case "lotes" -> {
+                    try (OutputStream entrada = proceso.getOutputStream()) {
+                        entrada.write("add Ana Lopez 5512345678\n".getBytes(StandardCharsets.UTF_8));
+                    }
+                    esperarLinea(salida, "OK");
+                }
+                case "servidor" -> pedirEstadoHttp(puertoAlFinal(esperarLinea(salida, "Agenda escuchando")));
+                default -> {
+                    try (ClienteBinario cliente = ClienteBinario.conectar("localhost",
+                            puertoAlFinal(esperarLinea(salida, "Agenda (binario)")))) {
+                        cliente.contactos();
+                    }
+                }
+            }
+            return System.nanoTime() - inicio;
+        } finally {
+            proceso.destroy();
+            proceso.waitFor();
+        }
+    }
+
+    private static Process lanzar(List<String> opciones, String... argumentos) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(JAVA);
+        comando.addAll(opciones);
+        comando.add("-jar");
+        comando.add(JAR.toString());
+        comando.addAll(List.of(argumentos));
+        return new ProcessBuilder(comando).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+    }
+
+    private static String esperarLinea(BufferedReader salida, String prefijo) throws IOException {
+        String linea;
+        while ((linea = salida.readLine()) != null) {
+            if (linea.startsWith(prefijo)) return linea;
+        }
+        throw new IOException("El proceso terminó sin escribir \"" + prefijo + "...\"");
+    }
+
+    private static int puertoAlFinal(String linea) {
+        int desde = Math.max(linea.lastIndexOf(':'), linea.lastIndexOf(' ')) + 1;
+        return Integer.parseInt(linea.substring(desde).trim());
+    }
+
+    private static void pedirEstadoHttp(int puerto) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), puerto)) {
+            socket.getOutputStream().write("GET /estado HTTP/1.0\r\nHost: localhost\r\n\r\n"
+                    .getBytes(StandardCharsets.US_ASCII));
+            InputStream entrada = socket.getInputStream();
+            if (entrada.readAllBytes().length == 0) {
+                throw new IOException("Respuesta vacía de GET /estado");
+            }
+        }
+    }
+}
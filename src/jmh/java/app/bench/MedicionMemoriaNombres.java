@@ -0,0 +1,100 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Mide los bytes de heap por contacto de una agenda de 1M contactos con nombres realistas
+ * (pocos nombres/apellidos muy repetidos), con y sin el diccionario de nombres compartido.
+ *
+ * No es un benchmark JMH: mide memoria retenida (heap usado tras GC), no tiempo. Ejecutar dos veces:
+ *   java -cp target/benchmarks.jar -Xmx2g app.bench.MedicionMemoriaNombres
+ *   java -cp target/benchmarks.jar -Xmx2g -Dagenda.nombres.compartir=false app.bench.MedicionMemoriaNombres
+ *
+ * Los contactos se crean desde líneas "nombre,apellido,telefono" (como al importar un CSV), así que cada
+ * campo llega como una copia nueva; la diferencia entre las dos ejecuciones es lo que ahorra el diccionario.
+ */
+public final class MedicionMemoriaNombres {
+
+    private static final int CONTACTOS = Integer.getInteger("contactos", 1_000_000);
+    private static final int NOMBRES_DISTINTOS = 2_000;
+    private static final int APELLIDOS_DISTINTOS = 5_000;
+    private static final long SEMILLA = 42;
+
+    private static final String[] SILABAS = {
+            "ma", "ri", "a", "jo", "se", "lu", "is", "car", "men", "pe", "dro", "ci", "sa", "ra", "fer",
+            "nan", "do", "gar", "go", "mez", "lo", "pez", "san", "chez", "ro", "dri", "guez", "mar", "tin", "el"
+    };
+
+    private MedicionMemoriaNombres() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(SEMILLA);
+        String[] nombres = generarPalabras(random, NOMBRES_DISTINTOS);
+        String[] apellidos = generarPalabras(random, APELLIDOS_DISTINTOS);
+
+        long antes = heapUsadoTrasGc();
+        Agenda agenda = new Agenda(CONTACTOS);
+        Set<Long> parejas = new HashSet<>(CONTACTOS * 2);
+        int creados = 0;
+        while (creados < CONTACTOS) {
+            int nombre = indiceFrecuente(random, nombres.length);
+            int apellido = indiceFrecuente(random, apellidos.length);
+            if (!parejas.add((long) nombre * APELLIDOS_DISTINTOS + apellido)) continue; // agenda: sin duplicados
+
+            String linea = nombres[nombre] + "," + apellidos[apellido] + ",55" + (10_000_000 + creados);
+            String[] campos = linea.split(",", 3);
+            agenda.anadirContacto(new Contacto(campos[0], campos[1], campos[2]));
+            creados++;
+        }
+        parejas = null;
+        long despues = heapUsadoTrasGc();
+
+        System.out.printf("Diccionario de nombres: %s%n",
+                System.getProperty("agenda.nombres.compartir", "true"));
+        System.out.printf("Contactos: %,d%n", agenda.listarContactos().size());
+        System.out.printf("Heap retenido: %,d bytes (%.1f bytes/contacto)%n",
+                despues - antes, (double) (despues - antes) / CONTACTOS);
+    }
+
+    /**
+     * Palabras distintas hechas de sílabas, con mayúscula inicial ("Marisa", "Gonzalez"...).
+     */
+    private static String[] generarPalabras(Random random, int cantidad) {
+        Set<String> palabras = new HashSet<>();
+        while (palabras.size() < cantidad) {
+            StringBuilder sb = new StringBuilder();
+            int silabas = 2 + random.nextInt(3);
+            for (int i = 0; i < silabas; i++) {
+                sb.append(SILABAS[random.nextInt(SILABAS.length)]);
+            }
+            sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+            palabras.add(sb.toString());
+        }
+        return palabras.toArray(new String[0]);
+    }
+
+    /**
+     * Reparto sesgado: los primeros índices salen mucho más (como "María" o "García" en la vida real).
+     */
+    private static int indiceFrecuente(Random random, int cantidad) {
+        double u = random.nextDouble();
+        return (int) (cantidad * u * u * u);
+    }
+
+    private static long heapUsadoTrasGc() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
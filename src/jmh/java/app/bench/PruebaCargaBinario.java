@@ -0,0 +1,142 @@
+package app.bench;
+
+import app.Agenda;
+import app.ClienteBinario;
+import app.Contacto;
+import app.ServidorBinario;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Prueba de carga local de ServidorBinario con ClienteBinario: multi-get por ID con pipelining.
+ *
+ * No es un benchmark JMH: arranca el servidor en este mismo proceso, lo siembra con "contactos" contactos y
+ * lanza "clientes" conexiones; cada una mantiene "profundidad" peticiones en vuelo de "lote" IDs cada una.
+ *   java -cp target/benchmarks.jar app.bench.PruebaCargaBinario
+ *   java -cp target/benchmarks.jar -Dclientes=16 -Dprofundidad=32 -Dlote=1 app.bench.PruebaCargaBinario
+ *
+ * Informa peticiones/s, contactos/s, latencia por petición (p50, p99; incluye la espera en la tubería)
+ * y los bytes que reserva el hilo del servidor por petición (0 en régimen estable).
+ */
+public final class PruebaCargaBinario {
+
+    private static final int CONTACTOS = Integer.getInteger("contactos", 100_000);
+    private static final int CLIENTES = Integer.getInteger("clientes", 4);
+    private static final int PROFUNDIDAD = Integer.getInteger("profundidad", 16);
+    private static final int LOTE = Integer.getInteger("lote", 16);
+    private static final int SEGUNDOS = Integer.getInteger("segundos", 10);
+    private static final int SEGUNDOS_CALENTAMIENTO = Integer.getInteger("calentamiento", 5);
+    private static final long SEMILLA = 42;
+    private static final String NOMBRE_HILO_SERVIDOR = "agenda-binario";
+
+    private PruebaCargaBinario() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Agenda agenda = Agenda.concurrente(Integer.MAX_VALUE);
+        List<Contacto> semilla = new ArrayList<>(CONTACTOS);
+        for (int i = 0; i < CONTACTOS; i++) {
+            semilla.add(new Contacto("Nombre" + i, "Apellido" + (i % 1000), "55" + (10_000_000 + i)));
+        }
+        agenda.anadirContactos(semilla);
+        long[] ids = semilla.stream().mapToLong(Contacto::getId).toArray();
+
+        try (ServidorBinario servidor = ServidorBinario.iniciar(agenda, 0)) {
+            System.out.printf("Servidor binario en el puerto %d con %,d contactos; %d clientes, profundidad %d, lote %d%n",
+                    servidor.getPuerto(), CONTACTOS, CLIENTES, PROFUNDIDAD, LOTE);
+            ejecutar(servidor.getPuerto(), ids, SEGUNDOS_CALENTAMIENTO); // calentamiento (JIT), sin informe
+
+            long bytesAntes = bytesReservadosPorServidor();
+            long[] latencias = ejecutar(servidor.getPuerto(), ids, SEGUNDOS);
+            long bytesDespues = bytesReservadosPorServidor();
+
+            Arrays.sort(latencias);
+            System.out.printf("Peticiones: %,d en %d s -> %,.0f peticiones/s (%,.0f contactos/s)%n",
+                    latencias.length, SEGUNDOS, (double) latencias.length / SEGUNDOS,
+                    (double) latencias.length * LOTE / SEGUNDOS);
+            System.out.printf("Latencia por petición: p50 %.1f µs | p99 %.1f µs%n",
+                    percentil(latencias, 0.50) / 1e3, percentil(latencias, 0.99) / 1e3);
+            System.out.printf("Reservado por el hilo del servidor: %.2f bytes/petición%n",
+                    (double) (bytesDespues - bytesAntes) / Math.max(1, latencias.length));
+        }
+    }
+
+    private static long[] ejecutar(int puerto, long[] ids, int segundos) throws Exception {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        List<Future<long[]>> futuros = new ArrayList<>(CLIENTES);
+        try (ExecutorService hilos = Executors.newFixedThreadPool(CLIENTES)) {
+            for (int c = 0; c < CLIENTES; c++) {
+                int numeroCliente = c;
+                futuros.add(hilos.submit(() -> cliente(puerto, ids, fin, numeroCliente)));
+            }
+        }
+
+        long[] todas = new long[0];
+        for (Future<long[]> futuro : futuros) {
+            long[] latencias = futuro.get();
+            int desde = todas.length;
+            todas = Arrays.copyOf(todas, desde + latencias.length);
+            System.arraycopy(latencias, 0, todas, desde, latencias.length);
+        }
+        return todas;
+    }
+
+    /**
+     * Mantiene PROFUNDIDAD peticiones en vuelo: al recibir la más antigua, envía una nueva.
+     */
+    private static long[] cliente(int puerto, long[] ids, long fin, int numeroCliente) throws Exception {
+        SplittableRandom random = new SplittableRandom(SEMILLA * 31 + numeroCliente);
+        long[] lote = new long[LOTE];
+        int[] enVuelo = new int[PROFUNDIDAD];
+        long[] enviadas = new long[PROFUNDIDAD];
+        long[] latencias = new long[1024];
+        int tamanio = 0;
+
+        try (ClienteBinario cliente = ClienteBinario.conectar("localhost", puerto)) {
+            for (int i = 0; i < PROFUNDIDAD; i++) {
+                enviadas[i] = System.nanoTime();
+                enVuelo[i] = cliente.enviarObtenerPorIds(llenar(lote, ids, random));
+            }
+            for (int i = 0; System.nanoTime() < fin; i = (i + 1) % PROFUNDIDAD) {
+                cliente.recibirContactos(enVuelo[i]);
+                long ahora = System.nanoTime();
+                if (tamanio == latencias.length) latencias = Arrays.copyOf(latencias, tamanio * 2);
+                latencias[tamanio++] = ahora - enviadas[i];
+
+                enviadas[i] = ahora;
+                enVuelo[i] = cliente.enviarObtenerPorIds(llenar(lote, ids, random));
+            }
+        }
+        return Arrays.copyOf(latencias, tamanio);
+    }
+
+    private static long[] llenar(long[] lote, long[] ids, SplittableRandom random) {
+        for (int i = 0; i < lote.length; i++) {
+            lote[i] = ids[random.nextInt(ids.length)];
+        }
+        return lote;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        return ordenadas[Math.min(ordenadas.length - 1, (int) Math.ceil(p * ordenadas.length) - 1)];
+    }
+
+    private static long bytesReservadosPorServidor() {
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (Thread hilo : Thread.getAllStackTraces().keySet()) {
+            if (hilo.getName().equals(NOMBRE_HILO_SERVIDOR)) {
+                return hilos.getThreadAllocatedBytes(hilo.threadId());
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,168 @@
+package app.bench;
+
+import app.Agenda;
+import app.Contacto;
+import app.ServidorAgenda;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Prueba de carga local de ServidorAgenda: peticiones/s y latencias (p50, p99, máxima).
+ *
+ * No es un benchmark JMH: arranca el servidor en este mismo proceso (puerto libre), lo siembra con
+ * "contactos" contactos y lanza "clientes" clientes HTTP/1.1 con conexiones persistentes (cada uno en su
+ * hilo virtual, petición tras petición, sin pausas) durante "segundos" segundos, tras un calentamiento.
+ *   java -cp target/benchmarks.jar app.bench.PruebaCargaServidor
+ *   java -cp target/benchmarks.jar -Dclientes=256 -Dsegundos=30 app.bench.PruebaCargaServidor
+ * Usa ServidorAgenda.iniciar, así que pone aquí -Dsun.net.httpserver.nodelay=true (si no se pasó otro valor).
+ *
+ * Mezcla de peticiones (parecida a un uso real): 70% búsqueda exacta, 20% página ordenada, 10% alta.
+ * Con -Dbusquedas=0 -Dpaginas=0 todo son altas (p.ej. para medir el generador de IDs desde hilos virtuales).
+ * Cliente y servidor comparten máquina: el resultado es un mínimo (con hardware dedicado, más).
+ */
+public final class PruebaCargaServidor {
+
+    private static final int CONTACTOS = Integer.getInteger("contactos", 100_000);
+    private static final int CLIENTES = Integer.getInteger("clientes", 64);
+    private static final int SEGUNDOS = Integer.getInteger("segundos", 10);
+    private static final int SEGUNDOS_CALENTAMIENTO = Integer.getInteger("calentamiento", 5);
+    private static final int LIMITE_PAGINA = 20;
+    private static final long SEMILLA = 42;
+
+    private static final int PORCENTAJE_BUSQUEDAS = Integer.getInteger("busquedas", 70);
+    private static final int PORCENTAJE_PAGINAS = Integer.getInteger("paginas", 20);
+
+    private PruebaCargaServidor() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        Agenda agenda = Agenda.concurrente(Integer.MAX_VALUE);
+        List<Contacto> semilla = new ArrayList<>(CONTACTOS);
+        for (int i = 0; i < CONTACTOS; i++) {
+            semilla.add(new Contacto("Nombre" + i, "Apellido" + (i % 1000), "55" + (10_000_000 + i)));
+        }
+        agenda.anadirContactos(semilla);
+
+        try (ServidorAgenda servidor = ServidorAgenda.iniciar(agenda, 0)) {
+            String base = "http://localhost:" + servidor.getPuerto();
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            System.out.printf("Servidor en %s con %,d contactos; %d clientes%n", base, CONTACTOS, CLIENTES);
+            ejecutar(cliente, base, SEGUNDOS_CALENTAMIENTO, 1); // calentamiento (JIT), sin informe
+            Resultado resultado = ejecutar(cliente, base, SEGUNDOS, 2);
+            resultado.imprimir();
+        }
+    }
+
+    /**
+     * Lanza los clientes durante "segundos" y junta sus latencias.
+     */
+    private static Resultado ejecutar(HttpClient cliente, String base, int segundos, int ronda) throws Exception {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        List<Future<Latencias>> futuros = new ArrayList<>(CLIENTES);
+        long inicio = System.nanoTime();
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                int numeroCliente = c;
+                futuros.add(hilos.submit(() -> cliente(cliente, base, fin, ronda, numeroCliente)));
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        Latencias total = new Latencias();
+        for (Future<Latencias> futuro : futuros) {
+            total.agregarTodas(futuro.get());
+        }
+        return new Resultado(total, nanos);
+    }
+
+    private static Latencias cliente(HttpClient cliente, String base, long fin, int ronda, int numeroCliente)
+            throws Exception {
+        SplittableRandom random = new SplittableRandom(SEMILLA * 31 + numeroCliente);
+        Latencias latencias = new Latencias();
+        int altas = 0;
+
+        while (System.nanoTime() < fin) {
+            HttpRequest peticion;
+            int tipo = random.nextInt(100);
+            if (tipo < PORCENTAJE_BUSQUEDAS) {
+                int i = random.nextInt(CONTACTOS);
+                peticion = HttpRequest.newBuilder(URI.create(
+                        base + "/contactos/buscar?nombre=Nombre" + i + "&apellido=Apellido" + (i % 1000))).build();
+            } else if (tipo < PORCENTAJE_BUSQUEDAS + PORCENTAJE_PAGINAS) {
+                peticion = HttpRequest.newBuilder(URI.create(base + "/contactos?orden=apellido&offset="
+                        + random.nextInt(CONTACTOS) + "&limite=" + LIMITE_PAGINA)).build();
+            } else {
+                String cuerpo = "nombre=Carga" + ronda + "x" + numeroCliente + "x" + altas++ + "&apellido=Prueba";
+                peticion = HttpRequest.newBuilder(URI.create(base + "/contactos"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                        .build();
+            }
+
+            long antes = System.nanoTime();
+            HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+            latencias.agregar(System.nanoTime() - antes);
+            if (respuesta.statusCode() >= 400) {
+                latencias.errores++;
+            }
+        }
+        return latencias;
+    }
+
+    /**
+     * Latencias en nanosegundos (array que crece; se ordena una vez al final).
+     */
+    private static final class Latencias {
+        long[] valores = new long[1024];
+        int tamanio;
+        long errores;
+
+        void agregar(long nanos) {
+            if (tamanio == valores.length) valores = Arrays.copyOf(valores, tamanio * 2);
+            valores[tamanio++] = nanos;
+        }
+
+        void agregarTodas(Latencias otras) {
+            for (int i = 0; i < otras.tamanio; i++) agregar(otras.valores[i]);
+            errores += otras.errores;
+        }
+    }
+
+    private record Resultado(Latencias latencias, long nanos) {
+
+        void imprimir() {
+            long[] ordenadas = Arrays.copyOf(latencias.valores, latencias.tamanio);
+            Arrays.sort(ordenadas);
+            System.out.printf("Peticiones: %,d (errores: %,d) en %.1f s -> %,.0f peticiones/s%n",
+                    ordenadas.length, latencias.errores, nanos / 1e9, ordenadas.length * 1e9 / nanos);
+            System.out.printf("Latencia: p50 %.2f ms | p99 %.2f ms | máx %.2f ms%n",
+                    percentil(ordenadas, 0.50) / 1e6, percentil(ordenadas, 0.99) / 1e6,
+                    (ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1]) / 1e6);
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) return 0;
+            return ordenadas[Math.min(ordenadas.length - 1, (int) Math.ceil(p * ordenadas.length) - 1)];
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package app;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 /**
  * DOCUMENTACIÓN PARA EL EQUIPO:
@@ -12,9 +17,28 @@ import java.util.List;
  * - Capacidad máxima mínima = 1 (si se pasa 0 o negativo, se fuerza a 1).
  * - No permite duplicados por (nombre + apellido) ignorando mayúsculas/minúsculas.
  * - Permite eliminar por ID.
+ * - Búsquedas por (nombre + apellido) en O(1) gracias a un índice hash que se mantiene al añadir/eliminar.
+ * - Eliminar por ID es O(1): índice ID -> posición + "swap-with-last" (el último ocupa el hueco).
  *
- * Nota: Esta clase imprime mensajes a consola (System.out). Eso es “UI” básica.
- * Para apps grandes, conviene usar logging o devolver mensajes (sin imprimir).
+ * Almacenamiento (ver AlmacenContactos):
+ * - Por defecto: objetos Contacto en memoria (AlmacenEnMemoria).
+ * - Agenda.columnar(...): columnas primitivas + bytes empaquetados (AlmacenColumnar), para agendas enormes.
+ * - Agenda.concurrente(...): thread-safe (AlmacenConcurrente), para usarla desde varios hilos.
+ *
+ * Concurrencia:
+ * - La capacidad se reserva con un contador atómico (CAS) ANTES de insertar, y el duplicado se comprueba
+ *   e inserta en un solo paso en el almacén. Así nunca se supera capacidadMaxima ni entran duplicados.
+ * - Solo la variante concurrente tiene un almacén thread-safe; las otras son para un único hilo.
+ * - En la variante concurrente, cada alta/baja toma el lock de su ID (uno de CERROJOS, por reparto de IDs)
+ *   mientras cambia el almacén, actualiza los índices y publica el evento. Así, para un mismo contacto,
+ *   índices y receptores ven siempre el ALTA antes que su BAJA. Contactos distintos no se esperan (salvo
+ *   que compartan lock) y sus eventos pueden llegar en cualquier orden entre sí.
+ * - Los índices secundarios también se crean al primer uso en la variante concurrente (ver activarIndice).
+ *
+ * Mensajes:
+ * - Esta clase NO imprime. anadirContacto / eliminarContactoPorId devuelven un ResultadoOperacion
+ *   y publican un EventoAgenda a los receptores registrados (ver ReceptorEventos).
+ * - Para el comportamiento antiguo (imprimir cada operación): agregarReceptor(ReceptorEventos.consola()).
  */
 public class Agenda {
 
@@ -25,20 +49,35 @@ public class Agenda {
     private static final int DEFAULT_CAPACITY = 10;
     private static final int MIN_CAPACITY = 1;
 
-    private static final String MSG_ADD_NULL = "No se puede añadir: contacto nulo.";
-    private static final String MSG_ADD_FULL = "No se puede añadir: la agenda está llena.";
-    private static final String MSG_ADD_DUPLICATE = "No se puede añadir: ya existe ese nombre y apellido.";
-    private static final String MSG_ADD_OK = "Contacto añadido correctamente.";
+    // Locks por ID de la variante concurrente (potencia de 2).
+    private static final int CERROJOS = 64;
 
-    private static final String MSG_DELETE_OK = "Contacto eliminado correctamente.";
-    private static final String MSG_DELETE_NOT_FOUND = "No se eliminó: no existe un contacto con ese ID.";
 
     // -------------------------
     // 2) Estado
     // -------------------------
 
     private final int capacidadMaxima;
-    private final List<Contacto> contactos;
+    private final AlmacenContactos almacen;
+
+    // Solo en la variante concurrente (null en las demás): ver cerrojoDe.
+    private final ReentrantLock[] cerrojos;
+
+    // Contactos guardados + huecos reservados por altas en curso.
+    private final AtomicInteger ocupados = new AtomicInteger();
+
+    // Copy-on-write: registrar receptores es raro, publicar eventos es constante.
+    private final List<ReceptorEventos> receptores = new CopyOnWriteArrayList<>();
+
+    // Índices secundarios: se crean la primera vez que se usan (ver IndiceSecundario).
+    private final List<IndiceSecundario> indicesActivos = new CopyOnWriteArrayList<>();
+    private volatile IndicePrefijos indicePrefijos;
+    private volatile IndiceTelefonos indiceTelefonos;
+    private volatile IndiceTrigramas indiceTrigramas;
+    private final AtomicReferenceArray<IndiceOrden> indicesOrden =
+            new AtomicReferenceArray<>(OrdenContactos.values().length);
+    // Un solo índice se crea a la vez (y nunca dos veces el mismo).
+    private final ReentrantLock activacion = new ReentrantLock();
 
     // -------------------------
     // 3) Lógica principal (constructores)
@@ -49,8 +88,51 @@ public class Agenda {
     }
 
     public Agenda(int capacidadMaxima) {
+        this(capacidadMaxima, new AlmacenEnMemoria());
+    }
+
+    Agenda(int capacidadMaxima, AlmacenContactos almacen) {
+        this(capacidadMaxima, almacen, 0);
+    }
+
+    /**
+     * Para almacenes que ya traen contactos (p.ej. una instantánea cargada).
+     */
+    Agenda(int capacidadMaxima, AlmacenContactos almacen, int contactosIniciales) {
+        this(capacidadMaxima, almacen, contactosIniciales, null);
+    }
+
+    private Agenda(int capacidadMaxima, AlmacenContactos almacen, int contactosIniciales, ReentrantLock[] cerrojos) {
         this.capacidadMaxima = clampCapacity(capacidadMaxima);
-        this.contactos = new ArrayList<>(this.capacidadMaxima);
+        this.almacen = almacen;
+        this.ocupados.set(contactosIniciales);
+        this.cerrojos = cerrojos;
+    }
+
+    /**
+     * Crea una agenda con almacenamiento columnar: mucha menos memoria por contacto.
+     * Los Contacto que devuelve (búsquedas, listado) son vistas creadas al vuelo con el mismo ID.
+     *
+     * No usar con ella buscarPorPrefijo, buscarSimilares, buscarPorTelefono ni listarContactos(orden, ...):
+     * cada uno activa un índice que guarda un Contacto por contacto y se pierde el ahorro de memoria.
+     * Para esas búsquedas, la agenda por defecto o la concurrente.
+     */
+    public static Agenda columnar(int capacidadMaxima) {
+        return new Agenda(capacidadMaxima, new AlmacenColumnar());
+    }
+
+    /**
+     * Crea una agenda thread-safe: altas, bajas y búsquedas desde varios hilos.
+     * Las altas y bajas solo coinciden en un lock corto del listado (O(log32 n), ver AlmacenConcurrente);
+     * el resto (duplicados, índices, eventos) va por clave o por ID y no espera a las demás.
+     * listarContactos() devuelve una instantánea que se puede recorrer mientras otros hilos escriben.
+     */
+    public static Agenda concurrente(int capacidadMaxima) {
+        ReentrantLock[] cerrojos = new ReentrantLock[CERROJOS];
+        for (int i = 0; i < cerrojos.length; i++) {
+            cerrojos[i] = new ReentrantLock();
+        }
+        return new Agenda(capacidadMaxima, new AlmacenConcurrente(), 0, cerrojos);
     }
 
     // -------------------------
@@ -64,25 +146,69 @@ public class Agenda {
      * - no existe uno con el mismo (nombre + apellido) ignorando mayúsculas/minúsculas
      *
      * @param contacto Contacto a agregar.
-     * @return true si se agregó, false si no se pudo (por reglas anteriores).
+     * @return OK si se agregó; NULL, FULL o DUPLICATE con el motivo si no.
      */
-    public boolean anadirContacto(Contacto contacto) {
+    public ResultadoOperacion anadirContacto(Contacto contacto) {
         if (contacto == null) {
-            System.out.println(MSG_ADD_NULL);
-            return false;
+            return publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.NULL, EventoAgenda.SIN_ID, null);
         }
-        if (agendaLlena()) {
-            System.out.println(MSG_ADD_FULL);
-            return false;
+        if (reservarHuecos(1) == 0) {
+            return publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.FULL, contacto.getId(), contacto);
         }
-        if (existeContacto(contacto.getNombre(), contacto.getApellido())) {
-            System.out.println(MSG_ADD_DUPLICATE);
-            return false;
+
+        ResultadoOperacion resultado = agregarReservado(contacto);
+        if (resultado != ResultadoOperacion.OK) {
+            ocupados.decrementAndGet(); // devolvemos el hueco reservado
         }
+        return resultado;
+    }
 
-        contactos.add(contacto);
-        System.out.println(MSG_ADD_OK);
-        return true;
+    /**
+     * Añade varios contactos de una vez (p.ej. al sembrar una agenda grande al arrancar).
+     * - La capacidad se reserva UNA sola vez para todo el lote; lo que sobra se devuelve al final.
+     * - Duplicados contra la agenda y dentro del propio lote se detectan en la misma pasada
+     *   (gana el primero que aparece en el lote).
+     * - Cada contacto termina como con anadirContacto (OK / NULL / FULL / DUPLICATE) y publica su evento.
+     *
+     * @param contactos Contactos a añadir (null se trata como lote vacío).
+     * @return Resultado por contacto, en el mismo orden que la entrada, y conteos por resultado.
+     */
+    public ResultadoLote anadirContactos(Collection<? extends Contacto> contactos) {
+        if (contactos == null) {
+            return new ResultadoLote(0);
+        }
+
+        ResultadoLote lote = new ResultadoLote(contactos.size());
+        int reservados = reservarHuecos(contactos.size());
+        int indice = 0;
+
+        for (Contacto contacto : contactos) {
+            ResultadoOperacion resultado;
+            if (contacto == null) {
+                resultado = publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.NULL, EventoAgenda.SIN_ID, null);
+            } else if (reservados == 0) {
+                resultado = publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.FULL, contacto.getId(), contacto);
+            } else {
+                resultado = agregarReservado(contacto);
+                if (resultado == ResultadoOperacion.OK) {
+                    reservados--;
+                }
+            }
+            lote.registrar(indice++, resultado);
+        }
+
+        ocupados.addAndGet(-reservados); // huecos reservados que no se usaron (nulos / duplicados)
+        return lote;
+    }
+
+    /**
+     * Variante para Streams. El stream se consume entero antes de reservar capacidad.
+     */
+    public ResultadoLote anadirContactos(Stream<? extends Contacto> contactos) {
+        if (contactos == null) {
+            return new ResultadoLote(0);
+        }
+        return anadirContactos(contactos.toList());
     }
 
     /**
@@ -109,11 +235,32 @@ public class Agenda {
     }
 
     /**
-     * Lista inmutable (solo lectura) de contactos.
-     * Nota: refleja cambios futuros porque envuelve la misma lista (comportamiento actual).
+     * Lista inmutable (solo lectura) de contactos: una instantánea del momento de la llamada, en O(1)
+     * (no copia nada). Se puede recorrer aunque la agenda cambie mientras tanto; no ve esos cambios.
+     * Excepción: en Agenda.columnar(...) es una vista directa de las columnas (no modificar la agenda
+     * mientras se recorre).
+     *
+     * Orden: de inserción mientras no haya bajas. Al eliminar un contacto, el último de la lista
+     * pasa a ocupar su posición (así la baja es O(1) y no desplaza el resto).
      */
     public List<Contacto> listarContactos() {
-        return Collections.unmodifiableList(contactos);
+        return almacen.listar();
+    }
+
+    /**
+     * Una página de contactos ordenados (tablas paginadas, listados "infinitos", API...).
+     * Se sirve de un índice ordenado que se mantiene con cada alta/baja: O(log n + limite), sin ordenar
+     * la agenda en cada llamada. La primera llamada para cada orden construye su índice (O(n log n)).
+     *
+     * @param orden  Por apellido, nombre, ID o teléfono (ver OrdenContactos).
+     * @param offset Posición del primer contacto de la página (0 = el primero).
+     * @param limite Tamaño máximo de la página.
+     * @return Hasta "limite" contactos (copia); vacía si offset está al final o los argumentos no son válidos.
+     */
+    public List<Contacto> listarContactos(OrdenContactos orden, int offset, int limite) {
+        if (orden == null || offset < 0 || limite <= 0) return List.of();
+
+        return indiceOrden(orden).pagina(offset, limite);
     }
 
     /**
@@ -133,35 +280,112 @@ public class Agenda {
     }
 
     /**
-     * Elimina un contacto por ID.
+     * Autocompletar: contactos cuyo nombre o apellido empieza por "prefijo" (ignora mayúsculas/minúsculas).
+     * También acepta "nombre apellido" o "apellido nombre" parciales (p.ej. "juan ga", "garcía j").
+     * O(log n + k). La primera llamada construye el índice (O(n log n)).
+     *
+     * @param prefijo Texto escrito por el usuario (null o vacío => lista vacía).
+     * @param limite  Máximo de resultados.
+     * @return Coincidencias por nombre y luego por apellido, en orden alfabético.
+     */
+    public List<Contacto> buscarPorPrefijo(String prefijo, int limite) {
+        if (prefijo == null || limite <= 0) return List.of();
+
+        String prefijoNormalizado = prefijo.trim();
+        if (prefijoNormalizado.isEmpty()) return List.of();
+
+        return indicePrefijos().buscar(prefijoNormalizado, limite);
+    }
+
+    /**
+     * "¿Quisiste decir...?": contactos parecidos a (nombre, apellido), p.ej. cuando buscaContacto no encuentra nada.
+     * Un índice de trigramas preselecciona candidatos y solo a esos se les calcula la distancia de edición
+     * (nunca se recorre toda la agenda). La primera llamada construye el índice (O(n)).
+     *
+     * @return Hasta maxResultados contactos, del más parecido al menos (lista vacía si faltan datos).
+     */
+    public List<Contacto> buscarSimilares(String nombre, String apellido, int maxResultados) {
+        if (nombre == null || apellido == null || maxResultados <= 0) return List.of();
+
+        String nombreNormalizado = nombre.trim();
+        String apellidoNormalizado = apellido.trim();
+        if (nombreNormalizado.isEmpty() || apellidoNormalizado.isEmpty()) return List.of();
+
+        return indiceTrigramas().buscarSimilares(nombreNormalizado, apellidoNormalizado, maxResultados);
+    }
+
+    /**
+     * Búsqueda inversa por teléfono (p.ej. identificador de llamadas).
+     * Solo cuentan los dígitos: "+52 55 1234-5678" encuentra al contacto guardado como "525512345678".
+     * O(1) y sin boxing. La primera llamada construye el índice (O(n)).
+     *
+     * @return El contacto con ese número (si varios lo comparten, el añadido más recientemente) o null.
+     */
+    public Contacto buscarPorTelefono(String telefono) {
+        long numero = IndiceTelefonos.codificar(telefono);
+        if (numero == IndiceTelefonos.SIN_NUMERO) return null;
+
+        return indiceTelefonos().buscar(numero);
+    }
+
+    /**
+     * Búsqueda por ID en O(1) (p.ej. un cliente que ya guardó el ID de un alta anterior).
+     *
+     * @return El contacto o null si no existe.
+     */
+    public Contacto buscarPorId(long id) {
+        return almacen.buscarPorId(id);
+    }
+
+    /**
+     * Elimina un contacto por ID en O(1).
+     * Edge case: el último contacto de la lista se mueve a la posición liberada (ver listarContactos).
      *
      * @param id ID del contacto.
-     * @return true si se eliminó, false si no existía.
+     * @return OK si se eliminó, NOT_FOUND si no existía.
      */
-    public boolean eliminarContactoPorId(int id) {
-        int index = buscarIndicePorId(id);
-        if (index == NOT_FOUND_INDEX) {
-            System.out.println(MSG_DELETE_NOT_FOUND);
-            return false;
-        }
+    public ResultadoOperacion eliminarContactoPorId(long id) {
+        ReentrantLock cerrojo = bloquear(id);
+        try {
+            Contacto eliminado = almacen.eliminarPorId(id);
+            if (eliminado == null) {
+                return publicar(EventoAgenda.Operacion.BAJA, ResultadoOperacion.NOT_FOUND, id, null);
+            }
 
-        contactos.remove(index);
-        System.out.println(MSG_DELETE_OK);
-        return true;
+            ocupados.decrementAndGet();
+            indexarBaja(eliminado);
+            return publicar(EventoAgenda.Operacion.BAJA, ResultadoOperacion.OK, id, eliminado);
+        } finally {
+            desbloquear(cerrojo);
+        }
     }
 
     public boolean agendaLlena() {
-        return contactos.size() >= capacidadMaxima;
+        return ocupados.get() >= capacidadMaxima;
     }
 
     public int espacioLibres() {
-        return capacidadMaxima - contactos.size();
+        return capacidadMaxima - ocupados.get();
     }
 
     public int getCapacidadMaxima() {
         return capacidadMaxima;
     }
 
+    // -------------------------
+    // 4.1) Eventos
+    // -------------------------
+
+    public void agregarReceptor(ReceptorEventos receptor) {
+        if (receptor != null) {
+            receptores.add(receptor);
+        }
+    }
+
+    public void quitarReceptor(ReceptorEventos receptor) {
+        receptores.remove(receptor);
+    }
+
     // -------------------------
     // 5) Helpers (búsquedas y validaciones internas)
     // -------------------------
@@ -171,27 +395,257 @@ public class Agenda {
     }
 
     /**
-     * Busca un contacto por nombre + apellido (case-insensitive).
-     * Asume que los inputs ya vienen normalizados con trim().
+     * Alta con el hueco ya reservado: duplicado + inserción en un solo paso en el almacén, índices y evento,
+     * todo bajo el lock del ID (variante concurrente).
+     *
+     * @return OK o DUPLICATE (el hueco lo devuelve quien llama).
      */
-    private Contacto buscarPorNombreApellido(String nombreNormalizado, String apellidoNormalizado) {
-        for (Contacto contacto : contactos) {
-            if (contacto.getNombre().equalsIgnoreCase(nombreNormalizado)
-                    && contacto.getApellido().equalsIgnoreCase(apellidoNormalizado)) {
-                return contacto;
+    private ResultadoOperacion agregarReservado(Contacto contacto) {
+        ReentrantLock cerrojo = bloquear(contacto.getId());
+        try {
+            if (!almacen.agregarSiAusente(contacto)) {
+                return publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.DUPLICATE, contacto.getId(), contacto);
+            }
+            indexarAlta(contacto);
+            return publicar(EventoAgenda.Operacion.ALTA, ResultadoOperacion.OK, contacto.getId(), contacto);
+        } finally {
+            desbloquear(cerrojo);
+        }
+    }
+
+    /**
+     * @return El lock del ID, ya tomado (null si la agenda no es concurrente).
+     */
+    private ReentrantLock bloquear(long id) {
+        if (cerrojos == null) return null;
+
+        ReentrantLock cerrojo = cerrojos[Long.hashCode(id * 0x9E3779B97F4A7C15L) & (CERROJOS - 1)];
+        cerrojo.lock();
+        return cerrojo;
+    }
+
+    private static void desbloquear(ReentrantLock cerrojo) {
+        if (cerrojo != null) cerrojo.unlock();
+    }
+
+    // -------------------------
+    // 5.1) Índices secundarios
+    // -------------------------
+
+    private IndicePrefijos indicePrefijos() {
+        IndicePrefijos indice = indicePrefijos;
+        if (indice != null) return indice;
+
+        activacion.lock();
+        try {
+            if (indicePrefijos == null) {
+                indicePrefijos = activarIndice(new IndicePrefijos());
+            }
+            return indicePrefijos;
+        } finally {
+            activacion.unlock();
+        }
+    }
+
+    private IndiceTelefonos indiceTelefonos() {
+        IndiceTelefonos indice = indiceTelefonos;
+        if (indice != null) return indice;
+
+        activacion.lock();
+        try {
+            if (indiceTelefonos == null) {
+                indiceTelefonos = activarIndice(new IndiceTelefonos());
+            }
+            return indiceTelefonos;
+        } finally {
+            activacion.unlock();
+        }
+    }
+
+    private IndiceTrigramas indiceTrigramas() {
+        IndiceTrigramas indice = indiceTrigramas;
+        if (indice != null) return indice;
+
+        activacion.lock();
+        try {
+            if (indiceTrigramas == null) {
+                indiceTrigramas = activarIndice(new IndiceTrigramas());
+            }
+            return indiceTrigramas;
+        } finally {
+            activacion.unlock();
+        }
+    }
+
+    private IndiceOrden indiceOrden(OrdenContactos orden) {
+        IndiceOrden indice = indicesOrden.get(orden.ordinal());
+        if (indice != null) return indice;
+
+        activacion.lock();
+        try {
+            indice = indicesOrden.get(orden.ordinal());
+            if (indice == null) {
+                indice = activarIndice(new IndiceOrden(orden));
+                indicesOrden.set(orden.ordinal(), indice);
+            }
+            return indice;
+        } finally {
+            activacion.unlock();
+        }
+    }
+
+    /**
+     * Llena el índice con los contactos actuales y lo suscribe a las altas/bajas siguientes.
+     *
+     * Variante concurrente: con todos los locks por ID tomados (un instante, sin altas/bajas a medias)
+     * se toma la instantánea del almacén y se suscribe el índice "en construcción". Después, ya sin locks,
+     * se llena con esa instantánea mientras las altas/bajas nuevas se encolan; al terminar se aplican
+     * en orden y el índice pasa a recibirlas directamente. Ninguna se pierde ni se aplica dos veces.
+     */
+    private <T extends IndiceSecundario> T activarIndice(T indice) {
+        if (cerrojos == null) {
+            indice.agregarTodos(almacen.listar());
+            indicesActivos.add(indice);
+            return indice;
+        }
+
+        IndiceEnConstruccion enConstruccion = new IndiceEnConstruccion(indice);
+        List<Contacto> corte;
+        for (ReentrantLock cerrojo : cerrojos) {
+            cerrojo.lock();
+        }
+        try {
+            corte = almacen.listar(); // instantánea O(1)
+            indicesActivos.add(enConstruccion);
+        } finally {
+            for (ReentrantLock cerrojo : cerrojos) {
+                cerrojo.unlock();
+            }
+        }
+
+        indice.agregarTodos(corte);
+        enConstruccion.terminar();
+        indicesActivos.replaceAll(activo -> activo == enConstruccion ? indice : activo);
+        return indice;
+    }
+
+    private void indexarAlta(Contacto contacto) {
+        for (IndiceSecundario indice : indicesActivos) {
+            indice.agregar(contacto);
+        }
+    }
+
+    private void indexarBaja(Contacto contacto) {
+        for (IndiceSecundario indice : indicesActivos) {
+            indice.quitar(contacto);
+        }
+    }
+
+    /**
+     * Reserva hasta "cantidad" huecos con un CAS: dos hilos nunca pueden quedarse con el mismo hueco.
+     *
+     * @return cuántos huecos se reservaron (0 si la agenda está llena).
+     */
+    private int reservarHuecos(int cantidad) {
+        int actuales;
+        int reservados;
+        do {
+            actuales = ocupados.get();
+            reservados = Math.min(cantidad, capacidadMaxima - actuales);
+            if (reservados <= 0) {
+                return 0;
+            }
+        } while (!ocupados.compareAndSet(actuales, actuales + reservados));
+        return reservados;
+    }
+
+    /**
+     * Notifica a los receptores (si hay) y devuelve el resultado para poder usarlo como "return".
+     * Sin receptores no se crea ningún evento.
+     */
+    private ResultadoOperacion publicar(EventoAgenda.Operacion operacion, ResultadoOperacion resultado,
+                                        long id, Contacto contacto) {
+        if (!receptores.isEmpty()) {
+            EventoAgenda evento = new EventoAgenda(operacion, resultado, id, contacto);
+            for (ReceptorEventos receptor : receptores) {
+                receptor.recibir(evento);
             }
         }
-        return null;
+        return resultado;
     }
 
-    private static final int NOT_FOUND_INDEX = -1;
+    /**
+     * Busca un contacto por nombre + apellido (case-insensitive) usando el índice del almacén: O(1).
+     * Asume que los inputs ya vienen normalizados con trim().
+     */
+    private Contacto buscarPorNombreApellido(String nombreNormalizado, String apellidoNormalizado) {
+        return almacen.buscarPorNombreApellido(nombreNormalizado, apellidoNormalizado);
+    }
+
+    /**
+     * Índice que se está llenando (ver activarIndice): encola las altas/bajas que llegan mientras tanto.
+     */
+    private static final class IndiceEnConstruccion implements IndiceSecundario {
+
+        private record Cambio(Contacto contacto, boolean alta) {
+        }
+
+        private final IndiceSecundario destino;
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<Cambio> pendientes = new ArrayList<>();
+        private boolean construyendo = true;
+
+        IndiceEnConstruccion(IndiceSecundario destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void agregar(Contacto contacto) {
+            if (!encolar(contacto, true)) destino.agregar(contacto);
+        }
+
+        @Override
+        public void quitar(Contacto contacto) {
+            if (!encolar(contacto, false)) destino.quitar(contacto);
+        }
+
+        /**
+         * Aplica lo encolado por tandas (sin lock) hasta que no queda nada; entonces deja de encolar.
+         */
+        void terminar() {
+            while (true) {
+                List<Cambio> tanda;
+                lock.lock();
+                try {
+                    if (pendientes.isEmpty()) {
+                        construyendo = false;
+                        return;
+                    }
+                    tanda = pendientes;
+                    pendientes = new ArrayList<>();
+                } finally {
+                    lock.unlock();
+                }
+
+                for (Cambio cambio : tanda) {
+                    if (cambio.alta()) {
+                        destino.agregar(cambio.contacto());
+                    } else {
+                        destino.quitar(cambio.contacto());
+                    }
+                }
+            }
+        }
 
-    private int buscarIndicePorId(int id) {
-        for (int i = 0; i < contactos.size(); i++) {
-            if (contactos.get(i).getId() == id) {
-                return i;
+        private boolean encolar(Contacto contacto, boolean alta) {
+            lock.lock();
+            try {
+                if (!construyendo) return false;
+                pendientes.add(new Cambio(contacto, alta));
+                return true;
+            } finally {
+                lock.unlock();
             }
         }
-        return NOT_FOUND_INDEX;
     }
 }
@@ -0,0 +1,362 @@
+package app;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Almacén columnar ("struct of arrays") pensado para agendas muy grandes.
+ *
+ * En vez de un objeto Contacto (+ 3 Strings + 3 byte[]) por contacto, guarda:
+ * - ids[]        -> ID de cada contacto
+ * - offsets[]    -> inicio de su registro dentro de "datos"
+ * - hashClaves[] -> hash de la clave (nombre + apellido) para el índice
+ * - datos[]      -> registros empaquetados [largo][nombre][largo][apellido][largo][telefono] en UTF-8
+ *
+ * Los Contacto solo se materializan (vistas con el mismo ID) cuando alguien los pide, y no se quedan en ningún sitio.
+ * Ojo con los índices secundarios de Agenda (prefijos, teléfonos, similares, páginas ordenadas): guardan un
+ * Contacto por contacto, así que cada índice activado devuelve la agenda al consumo de AlmacenEnMemoria.
+ * Con este almacén no se deben usar (ver Agenda.columnar).
+ * Las bajas usan "swap-with-last" en las columnas; los bytes huérfanos se compactan cuando
+ * superan a los bytes vivos.
+ *
+ * No es thread-safe (igual que AlmacenEnMemoria).
+ */
+final class AlmacenColumnar implements AlmacenContactos {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int BYTES_INICIALES = 256;
+    private static final int MIN_BYTES_PARA_COMPACTAR = 1 << 16;
+
+    private static final int CELDA_VACIA = 0;
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    // Columnas: posiciones 0..tamanio-1 están vivas.
+    private long[] ids;
+    private int[] offsets;
+    private int[] hashClaves;
+    private int tamanio;
+
+    // Registros empaquetados.
+    private byte[] datos;
+    private int finDatos;
+    private int bytesVivos;
+
+    // Índices: ID -> posición, y tabla hash por clave (guarda posición + 1; 0 = vacío).
+    private final MapaLongInt posicionPorId;
+    private int[] tablaClaves;
+
+    AlmacenColumnar() {
+        this.ids = new long[CAPACIDAD_INICIAL];
+        this.offsets = new int[CAPACIDAD_INICIAL];
+        this.hashClaves = new int[CAPACIDAD_INICIAL];
+        this.datos = new byte[BYTES_INICIALES];
+        this.posicionPorId = new MapaLongInt();
+        this.tablaClaves = new int[CAPACIDAD_INICIAL * 2];
+    }
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    @Override
+    public boolean agregarSiAusente(Contacto contacto) {
+        String clave = contacto.getClaveBusqueda();
+        int hash = clave.hashCode();
+        if (buscarPosicionPorClave(clave, hash) >= 0) {
+            return false;
+        }
+
+        asegurarCapacidadColumnas();
+        int posicion = tamanio++;
+        ids[posicion] = contacto.getId();
+        hashClaves[posicion] = hash;
+        offsets[posicion] = escribirRegistro(contacto);
+
+        posicionPorId.put(contacto.getId(), posicion);
+        insertarEnTabla(posicion);
+        return true;
+    }
+
+    @Override
+    public Contacto buscarPorNombreApellido(String nombre, String apellido) {
+        String clave = AlmacenContactos.claveDe(nombre, apellido);
+        int posicion = buscarPosicionPorClave(clave, clave.hashCode());
+        return posicion < 0 ? null : materializar(posicion);
+    }
+
+    @Override
+    public Contacto buscarPorId(long id) {
+        int posicion = posicionPorId.get(id);
+        return posicion == MapaLongInt.NO_ENCONTRADO ? null : materializar(posicion);
+    }
+
+    @Override
+    public Contacto eliminarPorId(long id) {
+        int posicion = posicionPorId.remove(id);
+        if (posicion == MapaLongInt.NO_ENCONTRADO) {
+            return null;
+        }
+
+        Contacto eliminado = materializar(posicion);
+        borrarDeTabla(posicion);
+        bytesVivos -= largoRegistro(offsets[posicion]);
+
+        int ultimo = --tamanio;
+        if (posicion != ultimo) {
+            moverPosicion(ultimo, posicion);
+        }
+
+        compactarSiConviene();
+        return eliminado;
+    }
+
+    /**
+     * Vista perezosa: cada get(i) materializa un Contacto nuevo (mismo ID, equals por ID).
+     * Orden: de inserción; al eliminar, el último ocupa el hueco.
+     */
+    @Override
+    public List<Contacto> listar() {
+        return new AbstractList<>() {
+            @Override
+            public Contacto get(int index) {
+                Objects.checkIndex(index, tamanio);
+                return materializar(index);
+            }
+
+            @Override
+            public int size() {
+                return tamanio;
+            }
+        };
+    }
+
+    // -------------------------
+    // 4) Helpers (columnas)
+    // -------------------------
+
+    private void asegurarCapacidadColumnas() {
+        if (tamanio < ids.length) {
+            return;
+        }
+        int nuevaCapacidad = ids.length * 2;
+        ids = Arrays.copyOf(ids, nuevaCapacidad);
+        offsets = Arrays.copyOf(offsets, nuevaCapacidad);
+        hashClaves = Arrays.copyOf(hashClaves, nuevaCapacidad);
+    }
+
+    /**
+     * Mueve el contacto de "origen" a "destino" (swap-with-last) y corrige ambos índices.
+     */
+    private void moverPosicion(int origen, int destino) {
+        ids[destino] = ids[origen];
+        offsets[destino] = offsets[origen];
+        hashClaves[destino] = hashClaves[origen];
+
+        posicionPorId.put(ids[destino], destino);
+        tablaClaves[buscarCeldaDePosicion(origen)] = destino + 1;
+    }
+
+    private Contacto materializar(int posicion) {
+        int offsetNombre = offsets[posicion];
+        int offsetApellido = saltarCampo(offsetNombre);
+        int offsetTelefono = saltarCampo(offsetApellido);
+
+        return Contacto.vista(ids[posicion], leerCampo(offsetNombre), leerCampo(offsetApellido), leerCampo(offsetTelefono));
+    }
+
+    // -------------------------
+    // 5) Helpers (tabla hash por clave)
+    // -------------------------
+
+    private int buscarPosicionPorClave(String clave, int hash) {
+        int mascara = tablaClaves.length - 1;
+        int i = hash & mascara;
+        int celda;
+        while ((celda = tablaClaves[i]) != CELDA_VACIA) {
+            int posicion = celda - 1;
+            // El hash cacheado descarta casi todos los candidatos sin decodificar bytes.
+            if (hashClaves[posicion] == hash && clave.equals(claveEn(posicion))) {
+                return posicion;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private String claveEn(int posicion) {
+        int offsetNombre = offsets[posicion];
+        return AlmacenContactos.claveDe(leerCampo(offsetNombre), leerCampo(saltarCampo(offsetNombre)));
+    }
+
+    private void insertarEnTabla(int posicion) {
+        if (tamanio * 2 > tablaClaves.length) {
+            reconstruirTabla(tablaClaves.length * 2);
+            return; // la reconstrucción ya incluye la nueva posición
+        }
+        colocarEnTabla(posicion);
+    }
+
+    private void colocarEnTabla(int posicion) {
+        int mascara = tablaClaves.length - 1;
+        int i = hashClaves[posicion] & mascara;
+        while (tablaClaves[i] != CELDA_VACIA) {
+            i = (i + 1) & mascara;
+        }
+        tablaClaves[i] = posicion + 1;
+    }
+
+    private void reconstruirTabla(int celdas) {
+        tablaClaves = new int[celdas];
+        for (int posicion = 0; posicion < tamanio; posicion++) {
+            colocarEnTabla(posicion);
+        }
+    }
+
+    private int buscarCeldaDePosicion(int posicion) {
+        int mascara = tablaClaves.length - 1;
+        int i = hashClaves[posicion] & mascara;
+        while (tablaClaves[i] != posicion + 1) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    /**
+     * Borra la celda de "posicion" con "backward shift" (mismo criterio que MapaLongInt).
+     */
+    private void borrarDeTabla(int posicion) {
+        int mascara = tablaClaves.length - 1;
+        int libre = buscarCeldaDePosicion(posicion);
+        int j = libre;
+        while (true) {
+            j = (j + 1) & mascara;
+            int celda = tablaClaves[j];
+            if (celda == CELDA_VACIA) break;
+
+            int ideal = hashClaves[celda - 1] & mascara;
+            boolean puedeMoverse = libre <= j
+                    ? (ideal <= libre || ideal > j)
+                    : (ideal <= libre && ideal > j);
+
+            if (puedeMoverse) {
+                tablaClaves[libre] = celda;
+                libre = j;
+            }
+        }
+        tablaClaves[libre] = CELDA_VACIA;
+    }
+
+    // -------------------------
+    // 6) Helpers (registros empaquetados)
+    // -------------------------
+
+    private int escribirRegistro(Contacto contacto) {
+        byte[] nombre = contacto.getNombre().getBytes(StandardCharsets.UTF_8);
+        byte[] apellido = contacto.getApellido().getBytes(StandardCharsets.UTF_8);
+        byte[] telefono = contacto.getTelefono().getBytes(StandardCharsets.UTF_8);
+
+        int largo = largoCampo(nombre.length) + largoCampo(apellido.length) + largoCampo(telefono.length);
+        asegurarCapacidadDatos(largo);
+
+        int inicio = finDatos;
+        int offset = escribirCampo(nombre, inicio);
+        offset = escribirCampo(apellido, offset);
+        finDatos = escribirCampo(telefono, offset);
+        bytesVivos += largo;
+        return inicio;
+    }
+
+    private void asegurarCapacidadDatos(int extra) {
+        if (finDatos + extra <= datos.length) {
+            return;
+        }
+        datos = Arrays.copyOf(datos, Math.max(datos.length * 2, finDatos + extra));
+    }
+
+    /**
+     * Campo = largo en varint (7 bits por byte) + bytes UTF-8.
+     */
+    private int escribirCampo(byte[] valor, int offset) {
+        int largo = valor.length;
+        while ((largo & ~0x7F) != 0) {
+            datos[offset++] = (byte) ((largo & 0x7F) | 0x80);
+            largo >>>= 7;
+        }
+        datos[offset++] = (byte) largo;
+
+        System.arraycopy(valor, 0, datos, offset, valor.length);
+        return offset + valor.length;
+    }
+
+    private String leerCampo(int offset) {
+        int largo = leerVarint(offset);
+        return new String(datos, offset + largoVarint(largo), largo, StandardCharsets.UTF_8);
+    }
+
+    private int saltarCampo(int offset) {
+        int largo = leerVarint(offset);
+        return offset + largoVarint(largo) + largo;
+    }
+
+    private int largoRegistro(int offset) {
+        return saltarCampo(saltarCampo(saltarCampo(offset))) - offset;
+    }
+
+    private int leerVarint(int offset) {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = datos[offset++];
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    private static int largoCampo(int largoBytes) {
+        return largoVarint(largoBytes) + largoBytes;
+    }
+
+    private static int largoVarint(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Si los bytes huérfanos (de bajas) superan a los vivos, reescribe "datos" en orden de posición.
+     */
+    private void compactarSiConviene() {
+        int huerfanos = finDatos - bytesVivos;
+        if (huerfanos < MIN_BYTES_PARA_COMPACTAR || huerfanos < bytesVivos) {
+            return;
+        }
+
+        byte[] compactos = new byte[Math.max(BYTES_INICIALES, bytesVivos * 2)];
+        int destino = 0;
+        for (int posicion = 0; posicion < tamanio; posicion++) {
+            int largo = largoRegistro(offsets[posicion]);
+            System.arraycopy(datos, offsets[posicion], compactos, destino, largo);
+            offsets[posicion] = destino;
+            destino += largo;
+        }
+
+        datos = compactos;
+        finDatos = destino;
+    }
+}
@@ -0,0 +1,98 @@
+package app;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Almacén thread-safe para usar la Agenda desde varios hilos a la vez (Agenda.concurrente(...)).
+ *
+ * - Duplicados: ConcurrentHashMap.putIfAbsent por clave. Comprobar e insertar es una sola operación
+ *   atómica y solo bloquea el "bin" de esa clave.
+ * - Búsquedas por nombre y por ID: sin locks (un ConcurrentHashMap por cada una). El mapa por ID es
+ *   aparte del de posiciones porque este último cambia con cada "swap-with-last" y vive bajo el lock.
+ * - Listado: VectorPersistente + índice ID -> posición ("swap-with-last", como AlmacenEnMemoria).
+ *   Esa parte SÍ va bajo un único lock (el monitor de "contactos"), compartido por todas las altas y bajas:
+ *   es corto (O(log32 n), unos pocos arrays de 32) y listar() solo lo toma para sacar una instantánea en
+ *   O(1), que luego se recorre sin locks mientras los demás hilos siguen escribiendo.
+ *   No se reparte en segmentos: el orden del listado y el "swap-with-last" necesitan un único vector.
+ * - Orden del listado: de inserción; al eliminar, el último ocupa el hueco.
+ *
+ * La capacidad NO se controla aquí: Agenda reserva el hueco antes de llamar a agregarSiAusente.
+ */
+final class AlmacenConcurrente implements AlmacenContactos {
+
+    // -------------------------
+    // 1) Estado
+    // -------------------------
+
+    private final ConcurrentMap<String, Contacto> porClave = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Contacto> porId = new ConcurrentHashMap<>();
+
+    // Solo se tocan con "contactos" bloqueado.
+    private final VectorPersistente<Contacto> contactos = new VectorPersistente<>();
+    private final MapaLongInt posicionPorId = new MapaLongInt();
+
+    // -------------------------
+    // 2) Operaciones
+    // -------------------------
+
+    @Override
+    public boolean agregarSiAusente(Contacto contacto) {
+        String clave = contacto.getClaveBusqueda();
+        if (porClave.putIfAbsent(clave, contacto) != null) {
+            return false;
+        }
+
+        synchronized (contactos) {
+            posicionPorId.put(contacto.getId(), contactos.size());
+            contactos.add(contacto);
+        }
+        porId.put(contacto.getId(), contacto); // último: quien lo encuentra por ID ya lo ve en el listado
+        return true;
+    }
+
+    @Override
+    public Contacto buscarPorNombreApellido(String nombre, String apellido) {
+        return porClave.get(AlmacenContactos.claveDe(nombre, apellido));
+    }
+
+    @Override
+    public Contacto buscarPorId(long id) {
+        return porId.get(id);
+    }
+
+    @Override
+    public Contacto eliminarPorId(long id) {
+        // Primero: de dos bajas del mismo ID solo una lo saca de aquí, y esa es la que sigue.
+        Contacto eliminado = porId.remove(id);
+        if (eliminado == null) {
+            return null;
+        }
+
+        synchronized (contactos) {
+            int posicion = posicionPorId.remove(id);
+            Contacto movido = contactos.quitarUltimo();
+            if (posicion != contactos.size()) {
+                contactos.set(posicion, movido);
+                posicionPorId.put(movido.getId(), posicion);
+            }
+        }
+
+        // remove(clave, valor): solo quita la clave si sigue apuntando a este contacto.
+        porClave.remove(eliminado.getClaveBusqueda(), eliminado);
+        return eliminado;
+    }
+
+    /**
+     * Instantánea de solo lectura en O(1): el estado exacto de un instante, estable aunque otros hilos
+     * modifiquen la agenda mientras se recorre.
+     */
+    @Override
+    public List<Contacto> listar() {
+        synchronized (contactos) {
+            return contactos.instantanea();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Almacenamiento interno de la Agenda (dónde y cómo se guardan los contactos).
+ *
+ * Responsabilidad:
+ * - Guardar contactos, rechazar duplicados por (nombre + apellido) y eliminar por ID.
+ * - Mantener sus propios índices (por clave de nombre y por ID).
+ *
+ * Nota: Las reglas de negocio (capacidad, null, mensajes) viven en Agenda; el almacén solo guarda.
+ * El tamaño también lo lleva Agenda (contador atómico), así que el almacén no necesita exponerlo.
+ */
+interface AlmacenContactos {
+
+    // Separador de la clave. Contacto no admite espacios en nombre/apellido,
+    // así que una clave con el separador "extra" nunca coincide con un contacto real.
+    char SEPARADOR_CLAVE = ' ';
+
+    // Tilde combinable (NFD): se conserva sobre la n para no confundir "Peña" con "Pena".
+    char TILDE_COMBINABLE = '\u0303';
+
+    /**
+     * Añade el contacto si no existe otro con la misma clave (nombre + apellido).
+     *
+     * @return true si se añadió, false si ya existía la clave.
+     */
+    boolean agregarSiAusente(Contacto contacto);
+
+    /**
+     * Busca por nombre + apellido (sin distinguir mayúsculas ni acentos). Asume inputs normalizados con trim().
+     *
+     * @return El contacto o null si no existe.
+     */
+    Contacto buscarPorNombreApellido(String nombre, String apellido);
+
+    /**
+     * Busca por ID.
+     *
+     * @return El contacto o null si no existe.
+     */
+    Contacto buscarPorId(long id);
+
+    /**
+     * Elimina por ID.
+     *
+     * @return El contacto eliminado o null si no existía.
+     */
+    Contacto eliminarPorId(long id);
+
+    /**
+     * Lista de solo lectura. El orden lo documenta cada implementación.
+     */
+    List<Contacto> listar();
+
+    /**
+     * Clave de los índices: nombre y apellido normalizados (ver normalizar). Contacto la calcula una sola vez
+     * (getClaveBusqueda); aquí se usa para las búsquedas y para reconstruir claves desde bytes.
+     */
+    static String claveDe(String nombre, String apellido) {
+        return normalizar(nombre) + SEPARADOR_CLAVE + normalizar(apellido);
+    }
+
+    /**
+     * Texto comparable sin mayúsculas ni acentos: "José" = "jose" = "JOSE", "Müller" = "muller".
+     * Unicode NFD, se quitan las marcas diacríticas (salvo la de la ñ) y se pasa a minúsculas
+     * (Locale.ROOT para no depender del idioma del sistema). Texto ASCII: solo minúsculas, sin Normalizer.
+     * Texto Latin-1 ("Fernández", "Muñoz"): carácter a carácter con una tabla precalculada, sin Normalizer.
+     */
+    static String normalizar(String texto) {
+        int i = 0;
+        while (i < texto.length() && texto.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == texto.length()) {
+            return texto.toLowerCase(Locale.ROOT);
+        }
+
+        String latin1 = PlegadoLatin1.plegar(texto);
+        return latin1 != null ? latin1 : normalizarUnicode(texto);
+    }
+
+    /**
+     * Camino general de normalizar (cualquier texto Unicode).
+     */
+    static String normalizarUnicode(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        for (int j = 0; j < descompuesto.length(); j++) {
+            char c = descompuesto.charAt(j);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            } else if (c == TILDE_COMBINABLE && !sb.isEmpty() && (sb.charAt(sb.length() - 1) | 0x20) == 'n') {
+                sb.setCharAt(sb.length() - 1, 'ñ');
+            }
+        }
+        // Mayúsculas y luego minúsculas: también iguala formas como "ß" / "SS" o "ς" / "σ".
+        return sb.toString().toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tabla de normalizar para los 256 caracteres Latin-1. En Latin-1 el resultado de un carácter no depende
+     * de sus vecinos (las marcas combinables están fuera del rango), así que plegar carácter a carácter da
+     * exactamente lo mismo que normalizarUnicode sobre el texto entero.
+     */
+    final class PlegadoLatin1 {
+
+        private static final String[] TABLA = new String[0x100];
+
+        static {
+            for (char c = 0; c < TABLA.length; c++) {
+                TABLA[c] = normalizarUnicode(String.valueOf(c));
+            }
+        }
+
+        private PlegadoLatin1() {
+        }
+
+        /**
+         * @return El texto normalizado, o null si tiene caracteres fuera de Latin-1.
+         */
+        static String plegar(String texto) {
+            StringBuilder sb = new StringBuilder(texto.length());
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c >= TABLA.length) return null;
+                sb.append(TABLA[c]);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package app;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Almacén por defecto: una lista de objetos Contacto + dos índices hash.
+ *
+ * - Búsqueda por (nombre + apellido): O(1) con un HashMap por clave.
+ * - Eliminar por ID: O(1) con índice ID -> posición + "swap-with-last" (el último ocupa el hueco).
+ * - Listar: instantánea O(1) (VectorPersistente): se puede recorrer mientras la agenda sigue cambiando.
+ */
+final class AlmacenEnMemoria implements AlmacenContactos {
+
+    // -------------------------
+    // 1) Estado
+    // -------------------------
+
+    private final VectorPersistente<Contacto> contactos;
+
+    // Índice (nombre + apellido en minúsculas) -> contacto. Debe mantenerse sincronizado con "contactos".
+    private final Map<String, Contacto> indicePorNombreApellido;
+
+    // Índice ID -> posición dentro de "contactos". Se corrige cuando una baja mueve al último contacto.
+    private final Map<Long, Integer> posicionPorId;
+
+    AlmacenEnMemoria() {
+        this.contactos = new VectorPersistente<>();
+        this.indicePorNombreApellido = new HashMap<>();
+        this.posicionPorId = new HashMap<>();
+    }
+
+    // -------------------------
+    // 2) Operaciones
+    // -------------------------
+
+    @Override
+    public boolean agregarSiAusente(Contacto contacto) {
+        String clave = contacto.getClaveBusqueda();
+        if (indicePorNombreApellido.putIfAbsent(clave, contacto) != null) {
+            return false;
+        }
+
+        posicionPorId.put(contacto.getId(), contactos.size());
+        contactos.add(contacto);
+        return true;
+    }
+
+    @Override
+    public Contacto buscarPorNombreApellido(String nombre, String apellido) {
+        return indicePorNombreApellido.get(AlmacenContactos.claveDe(nombre, apellido));
+    }
+
+    @Override
+    public Contacto buscarPorId(long id) {
+        Integer index = posicionPorId.get(id);
+        return index == null ? null : contactos.get(index);
+    }
+
+    @Override
+    public Contacto eliminarPorId(long id) {
+        Integer index = posicionPorId.remove(id);
+        if (index == null) {
+            return null;
+        }
+
+        Contacto eliminado = quitarEnPosicion(index);
+        indicePorNombreApellido.remove(eliminado.getClaveBusqueda());
+        return eliminado;
+    }
+
+    /**
+     * Instantánea de solo lectura (no ve cambios posteriores). Orden: de inserción; al eliminar, el último ocupa el hueco.
+     */
+    @Override
+    public List<Contacto> listar() {
+        return contactos.instantanea();
+    }
+
+    // -------------------------
+    // 3) Helpers
+    // -------------------------
+
+    /**
+     * Quita el contacto de la posición indicada sin desplazar la lista ("swap-with-last").
+     * El índice de ID del contacto quitado ya debe haberse borrado antes de llamar.
+     */
+    private Contacto quitarEnPosicion(int index) {
+        int ultimo = contactos.size() - 1;
+        Contacto quitado = contactos.get(index);
+        Contacto movido = contactos.quitarUltimo();
+
+        if (index != ultimo) {
+            contactos.set(index, movido);
+            posicionPorId.put(movido.getId(), index);
+        }
+        return quitado;
+    }
+}
@@ -0,0 +1,257 @@
+package app;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Almacén sobre una instantánea mapeada en memoria (ver InstantaneaAgenda).
+ *
+ * - "Base": los contactos del archivo. Se leen directamente de la región mapeada (columnas + tablas hash
+ *   ya construidas), y cada Contacto se materializa solo cuando se pide. Nunca se modifica el archivo.
+ * - Cambios posteriores: las altas van a un AlmacenEnMemoria y las bajas de la base se marcan en un BitSet.
+ * - listar() es una instantánea O(1) también después de bajas: mientras no haya ninguna, la parte de la base
+ *   es la identidad (posición i = fila i, sin memoria). La primera baja de la base crea la lista de posiciones
+ *   vivas (VectorPersistente, O(n) una sola vez, ~20 bytes por contacto de la base) y desde ahí cada baja es
+ *   un "swap-with-last" O(log32 n), como en AlmacenEnMemoria.
+ *
+ * Orden del listado: contactos de la base (orden del archivo; al borrar uno, el último de la base ocupa su
+ * hueco) y después las altas nuevas.
+ * No es thread-safe.
+ */
+final class AlmacenMapeado implements AlmacenContactos {
+
+    // -------------------------
+    // 1) Estado
+    // -------------------------
+
+    private static final int NO_ENCONTRADO = -1;
+    private static final int CELDA_VACIA = 0;
+
+    private final ByteBuffer base;
+    private final int tamanioBase;
+    private final int inicioDatos;
+    private final int inicioIds;
+    private final int inicioOffsets;
+    private final int inicioHashes;
+    private final int inicioTablaClaves;
+    private final int inicioTablaIds;
+    private final int mascaraClaves;
+    private final int mascaraIds;
+
+    private final BitSet borrados = new BitSet();
+    private final AlmacenEnMemoria nuevos = new AlmacenEnMemoria();
+
+    // Posiciones vivas de la base (fila -> posición en el archivo); null mientras no haya bajas en la base.
+    private VectorPersistente<Integer> vivosBase;
+    // Fila de las posiciones que se han movido al rellenar un hueco; las demás siguen en su fila = posición.
+    private final MapaLongInt filaMovida = new MapaLongInt();
+
+    AlmacenMapeado(ByteBuffer base) {
+        this.base = base;
+        this.tamanioBase = base.getInt(InstantaneaAgenda.POS_TAMANIO);
+
+        int celdasClave = base.getInt(InstantaneaAgenda.POS_CELDAS_CLAVE);
+        int celdasId = base.getInt(InstantaneaAgenda.POS_CELDAS_ID);
+
+        this.inicioDatos = InstantaneaAgenda.LARGO_CABECERA;
+        this.inicioIds = inicioDatos + base.getInt(InstantaneaAgenda.POS_LARGO_DATOS);
+        this.inicioOffsets = inicioIds + tamanioBase * Long.BYTES;
+        this.inicioHashes = inicioOffsets + tamanioBase * Integer.BYTES;
+        this.inicioTablaClaves = inicioHashes + tamanioBase * Integer.BYTES;
+        this.inicioTablaIds = inicioTablaClaves + celdasClave * Integer.BYTES;
+        this.mascaraClaves = celdasClave - 1;
+        this.mascaraIds = celdasId - 1;
+    }
+
+    int tamanioBase() {
+        return tamanioBase;
+    }
+
+    // -------------------------
+    // 2) Operaciones
+    // -------------------------
+
+    @Override
+    public boolean agregarSiAusente(Contacto contacto) {
+        if (buscarPosicionBase(contacto.getNombre(), contacto.getApellido()) != NO_ENCONTRADO) {
+            return false;
+        }
+        return nuevos.agregarSiAusente(contacto);
+    }
+
+    @Override
+    public Contacto buscarPorNombreApellido(String nombre, String apellido) {
+        int posicion = buscarPosicionBase(nombre, apellido);
+        return posicion != NO_ENCONTRADO ? materializar(posicion) : nuevos.buscarPorNombreApellido(nombre, apellido);
+    }
+
+    @Override
+    public Contacto buscarPorId(long id) {
+        Contacto nuevo = nuevos.buscarPorId(id);
+        if (nuevo != null) {
+            return nuevo;
+        }
+        int posicion = buscarPosicionBasePorId(id);
+        return posicion == NO_ENCONTRADO ? null : materializar(posicion);
+    }
+
+    @Override
+    public Contacto eliminarPorId(long id) {
+        Contacto eliminado = nuevos.eliminarPorId(id);
+        if (eliminado != null) {
+            return eliminado;
+        }
+
+        int posicion = buscarPosicionBasePorId(id);
+        if (posicion == NO_ENCONTRADO) {
+            return null;
+        }
+
+        borrados.set(posicion);
+        quitarDeVivos(posicion);
+        return materializar(posicion);
+    }
+
+    @Override
+    public List<Contacto> listar() {
+        List<Integer> vivos = vivosBase == null ? null : vivosBase.instantanea();
+        int enBase = vivos == null ? tamanioBase : vivos.size();
+        List<Contacto> agregados = nuevos.listar();
+
+        return new AbstractList<>() {
+            @Override
+            public Contacto get(int index) {
+                Objects.checkIndex(index, size());
+                if (index < enBase) {
+                    return materializar(vivos == null ? index : vivos.get(index));
+                }
+                return agregados.get(index - enBase);
+            }
+
+            @Override
+            public int size() {
+                return enBase + agregados.size();
+            }
+        };
+    }
+
+    // -------------------------
+    // 3) Helpers (lectura de la región mapeada)
+    // -------------------------
+
+    /**
+     * @return posición viva en la base con esa clave, o NO_ENCONTRADO.
+     */
+    private int buscarPosicionBase(String nombre, String apellido) {
+        String clave = AlmacenContactos.claveDe(nombre, apellido);
+        int hash = clave.hashCode();
+
+        int i = hash & mascaraClaves;
+        int celda;
+        while ((celda = base.getInt(inicioTablaClaves + i * Integer.BYTES)) != CELDA_VACIA) {
+            int posicion = celda - 1;
+            if (hashEn(posicion) == hash && !borrados.get(posicion) && clave.equals(claveEn(posicion))) {
+                return posicion;
+            }
+            i = (i + 1) & mascaraClaves;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    private int buscarPosicionBasePorId(long id) {
+        int i = InstantaneaAgenda.hashId(id) & mascaraIds;
+        int celda;
+        while ((celda = base.getInt(inicioTablaIds + i * Integer.BYTES)) != CELDA_VACIA) {
+            int posicion = celda - 1;
+            if (idEn(posicion) == id) {
+                return borrados.get(posicion) ? NO_ENCONTRADO : posicion;
+            }
+            i = (i + 1) & mascaraIds;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * "Swap-with-last" en las posiciones vivas de la base: la última ocupa la fila de la que se borra.
+     */
+    private void quitarDeVivos(int posicion) {
+        if (vivosBase == null) {
+            vivosBase = new VectorPersistente<>();
+            for (int i = 0; i < tamanioBase; i++) {
+                vivosBase.add(i);
+            }
+        }
+
+        int fila = filaMovida.remove(posicion);
+        if (fila == MapaLongInt.NO_ENCONTRADO) fila = posicion; // nunca se movió
+
+        Integer ultima = vivosBase.quitarUltimo();
+        if (fila != vivosBase.size()) {
+            vivosBase.set(fila, ultima);
+            filaMovida.put(ultima, fila);
+        }
+    }
+
+    private long idEn(int posicion) {
+        return base.getLong(inicioIds + posicion * Long.BYTES);
+    }
+
+    private int hashEn(int posicion) {
+        return base.getInt(inicioHashes + posicion * Integer.BYTES);
+    }
+
+    private int offsetEn(int posicion) {
+        return inicioDatos + base.getInt(inicioOffsets + posicion * Integer.BYTES);
+    }
+
+    private String claveEn(int posicion) {
+        int offsetNombre = offsetEn(posicion);
+        return AlmacenContactos.claveDe(leerCampo(offsetNombre), leerCampo(saltarCampo(offsetNombre)));
+    }
+
+    private Contacto materializar(int posicion) {
+        int offsetNombre = offsetEn(posicion);
+        int offsetApellido = saltarCampo(offsetNombre);
+        int offsetTelefono = saltarCampo(offsetApellido);
+
+        return Contacto.vista(idEn(posicion), leerCampo(offsetNombre), leerCampo(offsetApellido), leerCampo(offsetTelefono));
+    }
+
+    private String leerCampo(int offset) {
+        int largo = leerVarint(offset);
+        byte[] bytes = new byte[largo];
+        base.get(offset + largoVarint(largo), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int saltarCampo(int offset) {
+        int largo = leerVarint(offset);
+        return offset + largoVarint(largo) + largo;
+    }
+
+    private int leerVarint(int offset) {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = base.get(offset++);
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    private static int largoVarint(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+}
@@ -1,5 +1,16 @@
 package app;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
 
@@ -13,6 +24,7 @@ import java.util.Scanner;
  * Nota:
  * - La lógica de negocio (duplicados, capacidad, validaciones de nombre/apellido) vive en Agenda/Contacto.
  * - Aquí mantenemos el flujo de consola y manejo básico de errores.
+ * - Con "--lotes [archivo]" no hay menú: ejecuta los comandos del archivo (o de stdin) con ConsolaPorLotes.
  */
 public class AppConsola {
 
@@ -34,12 +46,27 @@ public class AppConsola {
     private static final String MSG_EMPTY_AGENDA = "Agenda vacía.";
     private static final String MSG_CONTACT_NOT_FOUND = "No existe un contacto con ese nombre y apellido.";
     private static final String MSG_NUMBER_REQUIRED = "Por favor ingresa un número válido.";
+    private static final String MSG_ADD_OK = "Contacto añadido correctamente.";
+    private static final String MSG_DELETE_OK = "Contacto eliminado correctamente.";
+    private static final String MSG_DID_YOU_MEAN = "¿Quisiste decir?";
+
+    private static final int MAX_SIMILAR_SUGGESTIONS = 3;
+
+    private static final String ARG_BATCH = "--lotes";
+    private static final String STDIN = "-";
+    // Capacidad de la agenda en modo por lotes (por defecto, sin límite práctico).
+    private static final int BATCH_CAPACITY = Integer.getInteger("agenda.lotes.capacidad", Integer.MAX_VALUE);
 
     // -------------------------
     // 2) Lógica principal (entrypoint)
     // -------------------------
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(ARG_BATCH)) {
+            ejecutarPorLotes(args.length > 1 ? args[1] : STDIN);
+            return;
+        }
+
         try (Scanner scanner = new Scanner(System.in)) {
             System.out.println(APP_TITLE);
 
@@ -48,6 +75,31 @@ public class AppConsola {
         }
     }
 
+    /**
+     * Modo no interactivo: resultados por stdout (con buffer) y el resumen por stderr.
+     */
+    private static void ejecutarPorLotes(String archivo) {
+        Writer salida = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), ConsolaPorLotes.TAMANIO_BUFFER);
+
+        try (BufferedReader entrada = abrirEntrada(archivo)) {
+            ConsolaPorLotes.Resumen resumen = ConsolaPorLotes.ejecutar(entrada, salida, new Agenda(BATCH_CAPACITY));
+            System.err.printf("Comandos: %,d (errores: %,d) en %,d ms -> %,.0f comandos/s%n",
+                    resumen.comandos(), resumen.errores(), resumen.nanos() / 1_000_000, resumen.comandosPorSegundo());
+        } catch (IOException ex) {
+            System.err.println("Error: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static BufferedReader abrirEntrada(String archivo) throws IOException {
+        if (archivo.equals(STDIN)) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                    ConsolaPorLotes.TAMANIO_BUFFER);
+        }
+        return Files.newBufferedReader(Path.of(archivo), StandardCharsets.UTF_8);
+    }
+
     // -------------------------
     // 3) Menú y flujo principal
     // -------------------------
@@ -119,8 +171,9 @@ public class AppConsola {
 
             Contacto contacto = new Contacto(nombre, apellido, telefono);
 
-            // Mantenemos funcionalidad: Agenda decide si se añade o no y lo imprime a consola.
-            agenda.anadirContacto(contacto);
+            // Agenda decide si se añade o no; aquí solo mostramos el motivo.
+            ResultadoOperacion resultado = agenda.anadirContacto(contacto);
+            System.out.println(resultado.esExito() ? MSG_ADD_OK : resultado.getMensajeError());
 
         } catch (IllegalArgumentException ex) {
             System.out.println("Error: " + ex.getMessage());
@@ -148,17 +201,27 @@ public class AppConsola {
         Contacto encontrado = agenda.buscaContacto(nombre, apellido);
         if (encontrado == null) {
             System.out.println(MSG_CONTACT_NOT_FOUND);
+            imprimirSimilares(agenda.buscarSimilares(nombre, apellido, MAX_SIMILAR_SUGGESTIONS));
             return;
         }
 
         System.out.println("Encontrado: " + encontrado);
     }
 
+    private static void imprimirSimilares(List<Contacto> similares) {
+        if (similares.isEmpty()) return;
+
+        System.out.println(MSG_DID_YOU_MEAN);
+        for (Contacto contacto : similares) {
+            System.out.println("- " + contacto);
+        }
+    }
+
     private static void eliminarContacto(Scanner scanner, Agenda agenda) {
-        int id = leerEntero(scanner, "ID a eliminar: ");
+        long id = leerLargo(scanner, "ID a eliminar: ");
 
-        // Mantenemos funcionalidad: Agenda imprime si se eliminó o no.
-        agenda.eliminarContactoPorId(id);
+        ResultadoOperacion resultado = agenda.eliminarContactoPorId(id);
+        System.out.println(resultado.esExito() ? MSG_DELETE_OK : resultado.getMensajeError());
     }
 
     private static void mostrarEstado(Agenda agenda) {
@@ -183,6 +246,19 @@ public class AppConsola {
         }
     }
 
+    private static long leerLargo(Scanner scanner, String mensaje) {
+        while (true) {
+            String input = leerTexto(scanner, mensaje);
+
+            Long numero = parsearLargoSeguro(input);
+            if (numero != null) {
+                return numero;
+            }
+
+            System.out.println(MSG_NUMBER_REQUIRED);
+        }
+    }
+
     private static String leerTexto(Scanner scanner, String mensaje) {
         System.out.print(mensaje);
         String input = scanner.nextLine();
@@ -196,5 +272,13 @@ public class AppConsola {
             return null;
         }
     }
+
+    private static Long parsearLargoSeguro(String input) {
+        try {
+            return Long.parseLong(input);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
 }
 
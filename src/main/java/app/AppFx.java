@@ -1,20 +1,33 @@
 package app;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.transformation.SortedList;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.io.File;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * COMENTARIOS PARA EL EQUIPO
  * UI principal de la Agenda de Contactos usando JavaFX.
  * Responsabilidad: construir la interfaz y orquestar acciones (agregar, buscar, eliminar, listar, limpiar).
  * Nota: La lógica de negocio vive en Agenda/Contacto; aquí solo coordinamos la UI.
+ * Las operaciones sobre la agenda corren fuera del hilo de JavaFX (EjecutorSegundoPlano); por eso la agenda
+ * es Agenda.concurrente.
  */
 public class AppFx extends Application {
 
@@ -38,7 +51,20 @@ public class AppFx extends Application {
     private static final String EMOJI_EMPTY = "📭 ";
     private static final String EMOJI_BOOK = "📒 ";
 
-    private final Agenda agenda = new Agenda(); // o new Agenda(20)
+    // Autocompletar: se busca cuando el usuario deja de escribir durante SUGERENCIAS_ESPERA.
+    private static final Duration SUGERENCIAS_ESPERA = Duration.millis(150);
+    private static final int SUGERENCIAS_MAXIMAS = 8;
+    private static final int SIMILARES_MAXIMOS = 3;
+
+    private static final double DIVISOR_TABLA_SALIDA = 0.65;
+
+    // Salida acotada: líneas que se conservan (-Dagenda.salida.maxLineas=N); un volcado por pulso de JavaFX.
+    private static final int SALIDA_MAX_LINEAS = Integer.getInteger("agenda.salida.maxLineas", 1000);
+
+    private static final int CAPACIDAD_POR_DEFECTO = 10;
+
+    private final Agenda agenda = Agenda.concurrente(CAPACIDAD_POR_DEFECTO);
+    private final EjecutorSegundoPlano ejecutor = new EjecutorSegundoPlano(Platform::runLater, this::onErrorSegundoPlano);
 
     // -------------------------
     // 2) Componentes UI (estado)
@@ -49,8 +75,21 @@ public class AppFx extends Application {
     private TextField telefonoField;
     private TextField idField;
 
+    private ContactosObservables contactosObservables;
+    private TableView<Contacto> tablaContactos;
     private TextArea salidaArea;
+    private ConsolaSalida salida;
     private Label estadoLabel;
+    private ProgressBar progresoBar;
+    private Button cancelarBtn;
+
+    private Stage stage;
+    private EjecutorSegundoPlano.Tarea tareaLarga;
+    private EjecutorSegundoPlano.Tarea tareaSugerencias;
+
+    private ContextMenu sugerenciasMenu;
+    private PauseTransition esperaSugerencias;
+    private boolean aplicandoSugerencia;
 
     public static void main(String[] args) {
         launch(args);
@@ -62,6 +101,7 @@ public class AppFx extends Application {
 
     @Override
     public void start(Stage stage) {
+        this.stage = stage;
         stage.setTitle(APP_TITLE);
 
         BorderPane root = construirLayoutPrincipal();
@@ -74,6 +114,11 @@ public class AppFx extends Application {
         escribirSalida("Agenda creada. Capacidad: " + agenda.getCapacidadMaxima());
     }
 
+    @Override
+    public void stop() {
+        ejecutor.close();
+    }
+
     // -------------------------
     // 4) Construcción UI
     // -------------------------
@@ -99,6 +144,8 @@ public class AppFx extends Application {
         telefonoField = crearTextField(PROMPT_TELEFONO);
         idField = crearTextField(PROMPT_ID);
 
+        configurarSugerencias();
+
         // 4.2) Layout de campos
         GridPane grid = crearGridFormulario();
         agregarFila(grid, 0, "Nombre:", nombreField, "Apellido:", apellidoField, "Teléfono:", telefonoField, "ID:", idField);
@@ -109,8 +156,10 @@ public class AppFx extends Application {
         Button eliminarBtn = crearBoton("Eliminar por ID", this::onEliminarPorId);
         Button listarBtn = crearBoton("Listar", this::onListar);
         Button limpiarBtn = crearBoton("Limpiar", this::onLimpiar);
+        Button importarBtn = crearBoton("Importar…", this::onImportar);
+        Button exportarBtn = crearBoton("Exportar…", this::onExportar);
 
-        HBox botones = new HBox(10, agregarBtn, buscarBtn, eliminarBtn, listarBtn, limpiarBtn);
+        HBox botones = new HBox(10, agregarBtn, buscarBtn, eliminarBtn, listarBtn, limpiarBtn, importarBtn, exportarBtn);
         botones.setPadding(new Insets(10, 0, 0, 0));
 
         // 4.4) Contenedor final + atajos
@@ -120,27 +169,102 @@ public class AppFx extends Application {
         return panel;
     }
 
-    private Pane crearSalida() {
+    /**
+     * Tabla de contactos (arriba) + log de mensajes (abajo).
+     */
+    private SplitPane crearSalida() {
         salidaArea = new TextArea();
         salidaArea.setEditable(false);
         salidaArea.setWrapText(true);
         salidaArea.setPrefRowCount(18);
+        salida = new ConsolaSalida(new ConsolaSalida.Vista() {
+            @Override
+            public void anadir(String texto) {
+                salidaArea.appendText(texto);
+            }
+
+            @Override
+            public void reemplazar(String texto) {
+                salidaArea.setText(texto);
+                salidaArea.positionCaret(texto.length()); // seguir mostrando lo último
+            }
+        }, SALIDA_MAX_LINEAS, Platform::runLater);
 
         VBox box = new VBox(10, new Label("Salida:"), salidaArea);
         VBox.setVgrow(salidaArea, Priority.ALWAYS);
-        return box;
+
+        SplitPane split = new SplitPane(crearTablaContactos(), box);
+        split.setOrientation(Orientation.VERTICAL);
+        split.setDividerPositions(DIVISOR_TABLA_SALIDA);
+        return split;
+    }
+
+    /**
+     * TableView sobre una vista observable de la agenda (ver ContactosObservables):
+     * cada alta/baja llega como un cambio fino, no se vuelve a pintar todo.
+     * Ordenar por columna usa un SortedList encima (la vista original no se reordena).
+     * Seleccionar una fila rellena el formulario.
+     */
+    private TableView<Contacto> crearTablaContactos() {
+        contactosObservables = ContactosObservables.de(agenda);
+
+        tablaContactos = new TableView<>();
+        tablaContactos.getColumns().setAll(List.of(
+                crearColumna("ID", Contacto::getId),
+                crearColumna("Nombre", Contacto::getNombre),
+                crearColumna("Apellido", Contacto::getApellido),
+                crearColumna("Teléfono", Contacto::getTelefono)
+        ));
+        tablaContactos.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+
+        SortedList<Contacto> ordenados = new SortedList<>(contactosObservables.getContactos());
+        ordenados.comparatorProperty().bind(tablaContactos.comparatorProperty());
+        tablaContactos.setItems(ordenados);
+
+        tablaContactos.getSelectionModel().selectedItemProperty().addListener((obs, antes, contacto) -> {
+            if (contacto != null) {
+                aplicarSugerencia(contacto);
+            }
+        });
+
+        return tablaContactos;
     }
 
+    /**
+     * Estado de la agenda (izquierda) + progreso y "Cancelar" de la tarea larga en curso (derecha).
+     */
     private Pane crearEstado() {
         estadoLabel = new Label();
 
+        progresoBar = new ProgressBar(0);
+        cancelarBtn = crearBoton("Cancelar", this::onCancelarTarea);
+        HBox tarea = new HBox(10, progresoBar, cancelarBtn);
+        mostrarProgreso(false);
+
         BorderPane wrapper = new BorderPane();
         wrapper.setPadding(new Insets(10, 0, 0, 0));
         wrapper.setLeft(estadoLabel);
+        wrapper.setRight(tarea);
 
         return wrapper;
     }
 
+    /**
+     * Autocompletar en nombre/apellido.
+     * - Debounce: cada tecla reinicia la pausa; solo se consulta la agenda al dejar de escribir.
+     * - Cancelable: una tecla nueva descarta la búsqueda pendiente (o en curso, en segundo plano);
+     *   Escape (Limpiar) la descarta.
+     */
+    private void configurarSugerencias() {
+        sugerenciasMenu = new ContextMenu();
+
+        esperaSugerencias = new PauseTransition(SUGERENCIAS_ESPERA);
+        esperaSugerencias.setOnFinished(e -> mostrarSugerencias());
+
+        nombreField.textProperty().addListener((obs, antes, ahora) -> programarSugerencias());
+        apellidoField.textProperty().addListener((obs, antes, ahora) -> programarSugerencias());
+    }
+
     // -------------------------
     // 5) Acciones (event handlers)
     // -------------------------
@@ -149,19 +273,24 @@ public class AppFx extends Application {
      * Agrega un contacto usando nombre, apellido y teléfono.
      * Edge cases:
      * - Campos vacíos: se delega a Contacto/Agenda (si allí validan) o se captura IllegalArgumentException.
-     * - Duplicado o agenda llena: agenda.anadirContacto devuelve false.
+     * - Duplicado o agenda llena: agenda.anadirContacto devuelve el motivo (ResultadoOperacion).
      */
     private void onAgregar() {
         String nombre = leerTexto(nombreField);
         String apellido = leerTexto(apellidoField);
         String telefono = leerTexto(telefonoField);
 
+        Contacto nuevoContacto;
         try {
-            Contacto nuevoContacto = new Contacto(nombre, apellido, telefono);
-            boolean agregado = agenda.anadirContacto(nuevoContacto);
+            nuevoContacto = new Contacto(nombre, apellido, telefono); // validación: barata, en el hilo de JavaFX
+        } catch (IllegalArgumentException ex) {
+            mostrarAlertaInformativa("Error al añadir", ex.getMessage());
+            return;
+        }
 
-            if (!agregado) {
-                escribirSalida(EMOJI_ERROR + "No se pudo añadir (duplicado o agenda llena).");
+        ejecutor.ejecutar(progreso -> agenda.anadirContacto(nuevoContacto), resultado -> {
+            if (!resultado.esExito()) {
+                escribirSalida(EMOJI_ERROR + resultado.getMensajeError());
                 actualizarEstado();
                 return;
             }
@@ -171,10 +300,7 @@ public class AppFx extends Application {
 
             // UX: si se agregó correctamente, reflejamos el ID en pantalla
             idField.setText(String.valueOf(nuevoContacto.getId()));
-
-        } catch (IllegalArgumentException ex) {
-            mostrarAlertaInformativa("Error al añadir", ex.getMessage());
-        }
+        });
     }
 
     /**
@@ -189,15 +315,31 @@ public class AppFx extends Application {
             return;
         }
 
+        ejecutor.ejecutar(progreso -> buscar(nombre, apellido), busqueda -> {
+            Contacto encontrado = busqueda.encontrado();
+            if (encontrado == null) {
+                escribirSalida(EMOJI_SEARCH + "No encontrado: " + nombre + " " + apellido);
+                escribirSimilares(busqueda.similares());
+                return;
+            }
+
+            escribirSalida(EMOJI_SEARCH + "Encontrado: " + encontrado);
+            telefonoField.setText(encontrado.getTelefono());
+            idField.setText(String.valueOf(encontrado.getId()));
+        });
+    }
+
+    /**
+     * Búsqueda exacta y, si falla, los parecidos (en segundo plano).
+     */
+    private Busqueda buscar(String nombre, String apellido) {
         Contacto encontrado = agenda.buscaContacto(nombre, apellido);
-        if (encontrado == null) {
-            escribirSalida(EMOJI_SEARCH + "No encontrado: " + nombre + " " + apellido);
-            return;
-        }
+        return new Busqueda(encontrado, encontrado != null
+                ? List.of()
+                : agenda.buscarSimilares(nombre, apellido, SIMILARES_MAXIMOS));
+    }
 
-        escribirSalida(EMOJI_SEARCH + "Encontrado: " + encontrado);
-        telefonoField.setText(encontrado.getTelefono());
-        idField.setText(String.valueOf(encontrado.getId()));
+    private record Busqueda(Contacto encontrado, List<Contacto> similares) {
     }
 
     /**
@@ -213,49 +355,159 @@ public class AppFx extends Application {
             return;
         }
 
-        Integer id = parsearEnteroSeguro(textoId);
+        Long id = parsearIdSeguro(textoId);
         if (id == null) {
             mostrarAlertaInformativa("ID inválido", "El ID debe ser un número.");
             return;
         }
 
-        boolean eliminado = agenda.eliminarContactoPorId(id);
-        escribirSalida(eliminado
-                ? EMOJI_DELETE + "Eliminado ID: " + id
-                : EMOJI_ERROR + "No existe ID: " + id
-        );
+        ejecutor.ejecutar(progreso -> agenda.eliminarContactoPorId(id).esExito(), eliminado -> {
+            escribirSalida(eliminado
+                    ? EMOJI_DELETE + "Eliminado ID: " + id
+                    : EMOJI_ERROR + "No existe ID: " + id
+            );
 
-        actualizarEstado();
+            actualizarEstado();
+        });
     }
 
     /**
-     * Lista todos los contactos en el área de salida.
+     * La tabla ya está al día (se actualiza con cada alta/baja): aquí solo se informa del total y se vuelve arriba.
      */
     private void onListar() {
-        List<Contacto> contactos = agenda.listarContactos();
+        int total = tablaContactos.getItems().size();
 
-        if (contactos.isEmpty()) {
+        if (total == 0) {
             escribirSalida(EMOJI_EMPTY + "Agenda vacía.");
             return;
         }
 
-        String listado = construirListadoContactos(contactos);
-        escribirSalida(listado);
+        tablaContactos.scrollTo(0);
+        escribirSalida(EMOJI_BOOK + "Contactos: " + total);
     }
 
     /**
      * Limpia inputs, salida y actualiza el estado.
      */
     private void onLimpiar() {
+        cancelarSugerencias();
         nombreField.clear();
         apellidoField.clear();
         telefonoField.clear();
         idField.clear();
 
-        salidaArea.clear();
+        salida.limpiar();
         actualizarEstado();
     }
 
+    /**
+     * Importa contactos desde un archivo (una línea "nombre,apellido,telefono" por contacto), en segundo plano.
+     * La tabla se va llenando sola (eventos de alta).
+     */
+    private void onImportar() {
+        if (hayTareaLarga()) return;
+
+        File archivo = new FileChooser().showOpenDialog(stage);
+        if (archivo == null) return;
+
+        escribirSalida("⏳ Importando " + archivo.getName() + "...");
+        iniciarTareaLarga(progreso -> ArchivoContactos.importar(archivo.toPath(), agenda, progreso), resumen -> {
+            escribirSalida(EMOJI_OK + "Importados: " + resumen.anadidos() + " de " + resumen.leidos()
+                    + " (inválidos: " + resumen.invalidos() + ", duplicados o sin espacio: " + resumen.rechazados() + ")");
+            actualizarEstado();
+        });
+    }
+
+    /**
+     * Exporta todos los contactos a un archivo, en segundo plano.
+     */
+    private void onExportar() {
+        if (hayTareaLarga()) return;
+
+        File archivo = new FileChooser().showSaveDialog(stage);
+        if (archivo == null) return;
+
+        escribirSalida("⏳ Exportando a " + archivo.getName() + "...");
+        iniciarTareaLarga(progreso -> ArchivoContactos.exportar(agenda, archivo.toPath(), progreso),
+                escritos -> escribirSalida(EMOJI_OK + "Exportados: " + escritos));
+    }
+
+    private void onCancelarTarea() {
+        if (tareaLarga == null) return;
+
+        tareaLarga.cancelar();
+        terminarTareaLarga();
+        escribirSalida(EMOJI_ERROR + "Tarea cancelada.");
+        actualizarEstado();
+    }
+
+    private void onErrorSegundoPlano(Throwable ex) {
+        if (tareaLarga != null && tareaLarga.terminada()) terminarTareaLarga(); // falló la tarea larga
+        mostrarAlertaInformativa("Error", ex.getMessage());
+    }
+
+    private void programarSugerencias() {
+        if (aplicandoSugerencia) return;
+        esperaSugerencias.playFromStart();
+    }
+
+    private void cancelarSugerencias() {
+        esperaSugerencias.stop();
+        if (tareaSugerencias != null) {
+            tareaSugerencias.cancelar();
+            tareaSugerencias = null;
+        }
+        sugerenciasMenu.hide();
+    }
+
+    private void mostrarSugerencias() {
+        String nombre = leerTexto(nombreField);
+        String apellido = leerTexto(apellidoField);
+        String prefijo = apellido.isEmpty() ? nombre : nombre + " " + apellido;
+
+        if (tareaSugerencias != null) tareaSugerencias.cancelar(); // la anterior ya no interesa
+        tareaSugerencias = ejecutor.ejecutar(
+                progreso -> agenda.buscarPorPrefijo(prefijo, SUGERENCIAS_MAXIMAS),
+                this::mostrarListaSugerencias);
+    }
+
+    private void mostrarListaSugerencias(List<Contacto> sugerencias) {
+        tareaSugerencias = null;
+        if (sugerencias.isEmpty()) {
+            sugerenciasMenu.hide();
+            return;
+        }
+
+        sugerenciasMenu.getItems().setAll(sugerencias.stream().map(this::crearItemSugerencia).toList());
+
+        TextField campo = apellidoField.isFocused() ? apellidoField : nombreField;
+        if (!sugerenciasMenu.isShowing()) {
+            sugerenciasMenu.show(campo, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private MenuItem crearItemSugerencia(Contacto contacto) {
+        MenuItem item = new MenuItem(contacto.toString());
+        item.setOnAction(e -> aplicarSugerencia(contacto));
+        return item;
+    }
+
+    /**
+     * Rellena el formulario con la sugerencia (o fila de la tabla) elegida, sin lanzar otra búsqueda de sugerencias.
+     */
+    private void aplicarSugerencia(Contacto contacto) {
+        aplicandoSugerencia = true;
+        try {
+            nombreField.setText(contacto.getNombre());
+            apellidoField.setText(contacto.getApellido());
+            telefonoField.setText(contacto.getTelefono());
+            idField.setText(String.valueOf(contacto.getId()));
+        } finally {
+            aplicandoSugerencia = false;
+        }
+        cancelarSugerencias();
+    }
+
     // -------------------------
     // 6) Helpers UI
     // -------------------------
@@ -272,10 +524,41 @@ public class AppFx extends Application {
     }
 
     /**
-     * Escribe un mensaje en el área de salida (modo "log" simple).
+     * Escribe un mensaje en el área de salida (acotada; se pinta una vez por tanda, ver ConsolaSalida).
      */
     private void escribirSalida(String mensaje) {
-        salidaArea.appendText(mensaje + "\n");
+        salida.escribir(mensaje);
+    }
+
+    // -------------------------
+    // 6.1) Tareas largas (importar/exportar): una a la vez, con progreso y cancelación
+    // -------------------------
+
+    private boolean hayTareaLarga() {
+        if (tareaLarga == null || tareaLarga.terminada()) return false;
+
+        mostrarAlertaInformativa("Tarea en curso", "Ya hay una importación/exportación en curso.");
+        return true;
+    }
+
+    private <T> void iniciarTareaLarga(EjecutorSegundoPlano.Trabajo<T> trabajo, Consumer<T> alTerminar) {
+        progresoBar.setProgress(0);
+        mostrarProgreso(true);
+
+        tareaLarga = ejecutor.ejecutarConProgreso(trabajo, progresoBar::setProgress, resultado -> {
+            terminarTareaLarga();
+            alTerminar.accept(resultado);
+        });
+    }
+
+    private void terminarTareaLarga() {
+        tareaLarga = null;
+        mostrarProgreso(false);
+    }
+
+    private void mostrarProgreso(boolean visible) {
+        progresoBar.setVisible(visible);
+        cancelarBtn.setVisible(visible);
     }
 
     /**
@@ -342,20 +625,28 @@ public class AppFx extends Application {
         return field.getText() == null ? "" : field.getText().trim();
     }
 
-    private Integer parsearEnteroSeguro(String texto) {
+    private Long parsearIdSeguro(String texto) {
         try {
-            return Integer.parseInt(texto);
+            return Long.parseLong(texto);
         } catch (NumberFormatException ex) {
             return null;
         }
     }
 
-    private String construirListadoContactos(List<Contacto> contactos) {
-        StringBuilder sb = new StringBuilder(EMOJI_BOOK).append("Contactos:\n");
-        for (Contacto contacto : contactos) {
-            sb.append("- ").append(contacto).append("\n");
+    private void escribirSimilares(List<Contacto> similares) {
+        if (similares.isEmpty()) return;
+
+        StringBuilder sb = new StringBuilder("   ¿Quisiste decir?");
+        for (Contacto contacto : similares) {
+            sb.append("\n   - ").append(contacto);
         }
-        return sb.toString();
+        escribirSalida(sb.toString());
+    }
+
+    private <T> TableColumn<Contacto, T> crearColumna(String titulo, Function<Contacto, T> valor) {
+        TableColumn<Contacto, T> columna = new TableColumn<>(titulo);
+        columna.setCellValueFactory(celda -> new ReadOnlyObjectWrapper<>(valor.apply(celda.getValue())));
+        return columna;
     }
 }
 
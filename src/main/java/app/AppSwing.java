@@ -1,14 +1,24 @@
 package app;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * DOCUMENTACIÓN PARA EL EQUIPO
  * UI principal de la Agenda de Contactos usando Swing.
  * Responsabilidad: construir la interfaz y orquestar acciones (agregar, buscar, eliminar, listar, limpiar).
  * Nota: La lógica de negocio vive en Agenda/Contacto; aquí solo coordinamos la UI.
+ * Las operaciones sobre la agenda corren fuera del EDT (EjecutorSegundoPlano), así que la agenda debe ser
+ * thread-safe (Agenda.concurrente).
  */
 public class AppSwing {
 
@@ -25,6 +35,11 @@ public class AppSwing {
 
     private static final int FIELD_COLUMNS_NAME = 12;
     private static final int FIELD_COLUMNS_ID = 8;
+    private static final double SPLIT_TABLE_WEIGHT = 0.7;
+
+    // Salida acotada: líneas que se conservan (-Dagenda.salida.maxLineas=N) y un volcado por frame (~60 fps).
+    private static final int SALIDA_MAX_LINEAS = Integer.getInteger("agenda.salida.maxLineas", 1000);
+    private static final int MS_POR_FRAME = 16;
 
     private static final String LABEL_NOMBRE = "Nombre (1 palabra):";
     private static final String LABEL_APELLIDO = "Apellido (1 palabra):";
@@ -41,6 +56,14 @@ public class AppSwing {
     private static final String MSG_FALTAN_NOMBRE_APELLIDO = "Escribe nombre y apellido para buscar.";
     private static final String MSG_FALTA_ID = "Escribe un ID para eliminar.";
     private static final String MSG_ID_INVALIDO = "El ID debe ser un número.";
+    private static final String MSG_TAREA_EN_CURSO = "Ya hay una importación/exportación en curso.";
+
+    private static final int CAPACIDAD_POR_DEFECTO = 10;
+
+    // Autocompletar: se busca cuando el usuario deja de escribir durante SUGERENCIAS_ESPERA_MS.
+    private static final int SUGERENCIAS_ESPERA_MS = 150;
+    private static final int SUGERENCIAS_MAXIMAS = 8;
+    private static final int SIMILARES_MAXIMOS = 3;
 
     // -------------------------
     // 2) Estado / Dependencias
@@ -55,17 +78,34 @@ public class AppSwing {
     private JTextField telefonoField;
     private JTextField idField;
 
+    private ModeloTablaContactos modeloTabla;
+    private JTable tablaContactos;
     private JTextArea salidaArea;
+    private ConsolaSalida salida;
     private JLabel estadoLabel;
+    private JProgressBar progresoBar;
+    private JButton cancelarBoton;
+
+    private final EjecutorSegundoPlano ejecutor;
+    private EjecutorSegundoPlano.Tarea tareaLarga;
+    private EjecutorSegundoPlano.Tarea tareaSugerencias;
 
+    private JPopupMenu sugerenciasPopup;
+    private Timer temporizadorSugerencias;
+    private boolean aplicandoSugerencia;
+
+    /**
+     * @param agenda Debe ser thread-safe (Agenda.concurrente): se usa desde hilos en segundo plano.
+     */
     public AppSwing(Agenda agenda) {
         this.agenda = agenda;
+        this.ejecutor = new EjecutorSegundoPlano(SwingUtilities::invokeLater, this::onErrorSegundoPlano);
         inicializarUI();
     }
 
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            Agenda agenda = new Agenda(); // o new Agenda(20)
+            Agenda agenda = Agenda.concurrente(CAPACIDAD_POR_DEFECTO);
             new AppSwing(agenda).mostrar();
         });
     }
@@ -107,6 +147,8 @@ public class AppSwing {
         telefonoField = new JTextField(FIELD_COLUMNS_NAME);
         idField = new JTextField(FIELD_COLUMNS_ID);
 
+        configurarSugerencias();
+
         // 4.2) Layout con GridBag (flexible y estándar en Swing)
         JPanel panel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = crearGbcBase();
@@ -130,18 +172,84 @@ public class AppSwing {
         return panel;
     }
 
+    /**
+     * Tabla de contactos (arriba) + log de mensajes (abajo).
+     */
     private JComponent crearPanelSalida() {
         salidaArea = new JTextArea();
         salidaArea.setEditable(false);
         salidaArea.setLineWrap(true);
         salidaArea.setWrapStyleWord(true);
+        salida = new ConsolaSalida(new ConsolaSalida.Vista() {
+            @Override
+            public void anadir(String texto) {
+                salidaArea.append(texto);
+            }
+
+            @Override
+            public void reemplazar(String texto) {
+                salidaArea.setText(texto);
+            }
+        }, SALIDA_MAX_LINEAS, AppSwing::enSiguienteFrame);
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, crearTablaContactos(), new JScrollPane(salidaArea));
+        split.setResizeWeight(SPLIT_TABLE_WEIGHT);
+        return split;
+    }
+
+    /**
+     * JTable virtualizada: el modelo lee de la agenda solo las filas visibles (ver ModeloTablaContactos).
+     * Clic en una cabecera: ordena por esa columna (otro clic invierte el sentido).
+     * Seleccionar una fila: rellena el formulario.
+     */
+    private JComponent crearTablaContactos() {
+        modeloTabla = new ModeloTablaContactos(agenda, ejecutor);
+        tablaContactos = new JTable(modeloTabla);
+        tablaContactos.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tablaContactos.setFillsViewportHeight(true);
+
+        tablaContactos.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int columna = tablaContactos.columnAtPoint(e.getPoint());
+                if (columna >= 0) {
+                    modeloTabla.ordenarPor(tablaContactos.convertColumnIndexToModel(columna));
+                }
+            }
+        });
 
-        return new JScrollPane(salidaArea);
+        tablaContactos.getSelectionModel().addListSelectionListener(e -> {
+            int fila = tablaContactos.getSelectedRow();
+            if (e.getValueIsAdjusting() || fila < 0) return;
+
+            Contacto contacto = modeloTabla.contactoEn(fila);
+            if (contacto != null) {
+                aplicarSugerencia(contacto);
+            }
+        });
+
+        return new JScrollPane(tablaContactos);
     }
 
+    /**
+     * Estado de la agenda (izquierda) + progreso y "Cancelar" de la tarea larga en curso (derecha).
+     */
     private JComponent crearPanelEstado() {
         estadoLabel = new JLabel();
-        return estadoLabel;
+
+        progresoBar = new JProgressBar(0, 100);
+        progresoBar.setStringPainted(true);
+        cancelarBoton = crearBoton("Cancelar", this::onCancelarTarea);
+
+        JPanel tarea = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        tarea.add(progresoBar);
+        tarea.add(cancelarBoton);
+        mostrarProgreso(false);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(estadoLabel, BorderLayout.WEST);
+        panel.add(tarea, BorderLayout.EAST);
+        return panel;
     }
 
     private JPanel crearPanelBotones() {
@@ -152,10 +260,55 @@ public class AppSwing {
         botones.add(crearBoton("Eliminar por ID", this::onEliminarPorId));
         botones.add(crearBoton("Listar", this::onListar));
         botones.add(crearBoton("Limpiar", this::onLimpiar));
+        botones.add(crearBoton("Importar…", this::onImportar));
+        botones.add(crearBoton("Exportar…", this::onExportar));
 
         return botones;
     }
 
+    /**
+     * Autocompletar en nombre/apellido.
+     * - Debounce: cada tecla reinicia el temporizador; solo se consulta la agenda al dejar de escribir.
+     * - Cancelable: una tecla nueva descarta la búsqueda pendiente (o en curso, en segundo plano);
+     *   Escape la descarta y oculta las sugerencias.
+     */
+    private void configurarSugerencias() {
+        sugerenciasPopup = new JPopupMenu();
+        sugerenciasPopup.setFocusable(false); // el foco se queda en el campo: se puede seguir escribiendo
+
+        temporizadorSugerencias = new Timer(SUGERENCIAS_ESPERA_MS, e -> mostrarSugerencias());
+        temporizadorSugerencias.setRepeats(false);
+
+        DocumentListener alEscribir = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                programarSugerencias();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                programarSugerencias();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Solo cambios de atributos: no afectan al texto.
+            }
+        };
+
+        for (JTextField field : List.of(nombreField, apellidoField)) {
+            field.getDocument().addDocumentListener(alEscribir);
+            field.getInputMap(JComponent.WHEN_FOCUSED)
+                    .put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "cancelarSugerencias");
+            field.getActionMap().put("cancelarSugerencias", new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    cancelarSugerencias();
+                }
+            });
+        }
+    }
+
     // -------------------------
     // 5) Acciones (event handlers)
     // -------------------------
@@ -164,27 +317,30 @@ public class AppSwing {
      * Agrega un contacto usando nombre, apellido y teléfono.
      * Edge cases:
      * - Validaciones profundas (p.ej. formato de teléfono, nombre vacío) suelen vivir en Contacto/Agenda.
-     * - Duplicado o agenda llena: agenda.anadirContacto devuelve false.
+     * - Duplicado o agenda llena: agenda.anadirContacto devuelve el motivo (ResultadoOperacion).
      */
     private void onAgregar() {
         String nombre = leerTexto(nombreField);
         String apellido = leerTexto(apellidoField);
         String telefono = leerTexto(telefonoField);
 
+        Contacto contacto;
         try {
-            Contacto contacto = new Contacto(nombre, apellido, telefono);
-            boolean agregado = agenda.anadirContacto(contacto);
+            contacto = new Contacto(nombre, apellido, telefono); // validación: barata, en el EDT
+        } catch (IllegalArgumentException ex) {
+            mostrarDialogo("Error: " + ex.getMessage());
+            return;
+        }
 
-            escribirSalida(agregado
+        ejecutor.ejecutar(progreso -> agenda.anadirContacto(contacto), resultado -> {
+            escribirSalida(resultado.esExito()
                     ? EMOJI_OK + "Añadido: " + contacto
-                    : EMOJI_ERROR + "No se pudo añadir (revisar consola para motivo)."
+                    : EMOJI_ERROR + resultado.getMensajeError()
             );
 
             actualizarEstado();
-
-        } catch (IllegalArgumentException ex) {
-            mostrarDialogo("Error: " + ex.getMessage());
-        }
+            modeloTabla.refrescar();
+        });
     }
 
     /**
@@ -199,15 +355,31 @@ public class AppSwing {
             return;
         }
 
+        ejecutor.ejecutar(progreso -> buscar(nombre, apellido), busqueda -> {
+            Contacto encontrado = busqueda.encontrado();
+            if (encontrado == null) {
+                escribirSalida(EMOJI_SEARCH + "No encontrado: " + nombre + " " + apellido);
+                escribirSimilares(busqueda.similares());
+                return;
+            }
+
+            escribirSalida(EMOJI_SEARCH + "Encontrado: " + encontrado);
+            telefonoField.setText(encontrado.getTelefono());
+            idField.setText(String.valueOf(encontrado.getId()));
+        });
+    }
+
+    /**
+     * Búsqueda exacta y, si falla, los parecidos (en segundo plano).
+     */
+    private Busqueda buscar(String nombre, String apellido) {
         Contacto encontrado = agenda.buscaContacto(nombre, apellido);
-        if (encontrado == null) {
-            escribirSalida(EMOJI_SEARCH + "No encontrado: " + nombre + " " + apellido);
-            return;
-        }
+        return new Busqueda(encontrado, encontrado != null
+                ? List.of()
+                : agenda.buscarSimilares(nombre, apellido, SIMILARES_MAXIMOS));
+    }
 
-        escribirSalida(EMOJI_SEARCH + "Encontrado: " + encontrado);
-        telefonoField.setText(encontrado.getTelefono());
-        idField.setText(String.valueOf(encontrado.getId()));
+    private record Busqueda(Contacto encontrado, List<Contacto> similares) {
     }
 
     /**
@@ -223,49 +395,153 @@ public class AppSwing {
             return;
         }
 
-        Integer id = parsearEnteroSeguro(textoId);
+        Long id = parsearIdSeguro(textoId);
         if (id == null) {
             mostrarDialogo(MSG_ID_INVALIDO);
             return;
         }
 
-        boolean eliminado = agenda.eliminarContactoPorId(id);
-
-        escribirSalida(eliminado
-                ? EMOJI_DELETE + "Eliminado ID: " + id
-                : EMOJI_ERROR + "No existe ID: " + id
-        );
+        ejecutor.ejecutar(progreso -> agenda.eliminarContactoPorId(id).esExito(), eliminado -> {
+            escribirSalida(eliminado
+                    ? EMOJI_DELETE + "Eliminado ID: " + id
+                    : EMOJI_ERROR + "No existe ID: " + id
+            );
 
-        actualizarEstado();
+            actualizarEstado();
+            modeloTabla.refrescar();
+        });
     }
 
     /**
-     * Lista todos los contactos en el área de salida.
+     * Refresca la tabla de contactos (no genera ningún texto con el listado: la tabla lee solo lo visible).
      */
     private void onListar() {
-        List<Contacto> contactos = agenda.listarContactos();
-
-        if (contactos.isEmpty()) {
-            escribirSalida(EMOJI_EMPTY + "Agenda vacía.");
-            return;
-        }
-
-        escribirSalida(construirListadoContactos(contactos));
+        modeloTabla.refrescar(() -> escribirSalida(modeloTabla.getRowCount() == 0
+                ? EMOJI_EMPTY + "Agenda vacía."
+                : EMOJI_BOOK + "Contactos: " + modeloTabla.getRowCount()
+        ));
     }
 
     /**
      * Limpia inputs, salida y actualiza el estado.
      */
     private void onLimpiar() {
+        cancelarSugerencias();
         limpiarTextField(nombreField);
         limpiarTextField(apellidoField);
         limpiarTextField(telefonoField);
         limpiarTextField(idField);
 
-        salidaArea.setText("");
+        salida.limpiar();
         actualizarEstado();
     }
 
+    /**
+     * Importa contactos desde un archivo (una línea "nombre,apellido,telefono" por contacto), en segundo plano.
+     */
+    private void onImportar() {
+        if (hayTareaLarga()) return;
+
+        JFileChooser selector = new JFileChooser();
+        if (selector.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+        File archivo = selector.getSelectedFile();
+
+        escribirSalida("⏳ Importando " + archivo.getName() + "...");
+        iniciarTareaLarga(progreso -> ArchivoContactos.importar(archivo.toPath(), agenda, progreso), resumen -> {
+            escribirSalida(EMOJI_OK + "Importados: " + resumen.anadidos() + " de " + resumen.leidos()
+                    + " (inválidos: " + resumen.invalidos() + ", duplicados o sin espacio: " + resumen.rechazados() + ")");
+            actualizarEstado();
+            modeloTabla.refrescar();
+        });
+    }
+
+    /**
+     * Exporta todos los contactos a un archivo, en segundo plano.
+     */
+    private void onExportar() {
+        if (hayTareaLarga()) return;
+
+        JFileChooser selector = new JFileChooser();
+        if (selector.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+        File archivo = selector.getSelectedFile();
+
+        escribirSalida("⏳ Exportando a " + archivo.getName() + "...");
+        iniciarTareaLarga(progreso -> ArchivoContactos.exportar(agenda, archivo.toPath(), progreso),
+                escritos -> escribirSalida(EMOJI_OK + "Exportados: " + escritos));
+    }
+
+    private void onCancelarTarea() {
+        if (tareaLarga == null) return;
+
+        tareaLarga.cancelar();
+        terminarTareaLarga();
+        escribirSalida(EMOJI_ERROR + "Tarea cancelada.");
+        actualizarEstado();
+        modeloTabla.refrescar(); // una importación cancelada deja lo que ya había añadido
+    }
+
+    private void onErrorSegundoPlano(Throwable ex) {
+        if (tareaLarga != null && tareaLarga.terminada()) terminarTareaLarga(); // falló la tarea larga
+        mostrarDialogo("Error: " + ex.getMessage());
+    }
+
+    private void programarSugerencias() {
+        if (aplicandoSugerencia) return;
+        temporizadorSugerencias.restart();
+    }
+
+    private void cancelarSugerencias() {
+        temporizadorSugerencias.stop();
+        if (tareaSugerencias != null) {
+            tareaSugerencias.cancelar();
+            tareaSugerencias = null;
+        }
+        sugerenciasPopup.setVisible(false);
+    }
+
+    private void mostrarSugerencias() {
+        String nombre = leerTexto(nombreField);
+        String apellido = leerTexto(apellidoField);
+        String prefijo = apellido.isEmpty() ? nombre : nombre + " " + apellido;
+
+        if (tareaSugerencias != null) tareaSugerencias.cancelar(); // la anterior ya no interesa
+        tareaSugerencias = ejecutor.ejecutar(
+                progreso -> agenda.buscarPorPrefijo(prefijo, SUGERENCIAS_MAXIMAS),
+                this::mostrarListaSugerencias);
+    }
+
+    private void mostrarListaSugerencias(List<Contacto> sugerencias) {
+        tareaSugerencias = null;
+        sugerenciasPopup.setVisible(false);
+        sugerenciasPopup.removeAll();
+        if (sugerencias.isEmpty()) return;
+
+        for (Contacto contacto : sugerencias) {
+            JMenuItem item = new JMenuItem(contacto.toString());
+            item.addActionListener(e -> aplicarSugerencia(contacto));
+            sugerenciasPopup.add(item);
+        }
+
+        JTextField campo = apellidoField.isFocusOwner() ? apellidoField : nombreField;
+        sugerenciasPopup.show(campo, 0, campo.getHeight());
+    }
+
+    /**
+     * Rellena el formulario con la sugerencia (o fila de la tabla) elegida, sin lanzar otra búsqueda de sugerencias.
+     */
+    private void aplicarSugerencia(Contacto contacto) {
+        aplicandoSugerencia = true;
+        try {
+            nombreField.setText(contacto.getNombre());
+            apellidoField.setText(contacto.getApellido());
+            telefonoField.setText(contacto.getTelefono());
+            idField.setText(String.valueOf(contacto.getId()));
+        } finally {
+            aplicandoSugerencia = false;
+        }
+        cancelarSugerencias();
+    }
+
     // -------------------------
     // 6) Helpers UI (estado/salida)
     // -------------------------
@@ -278,8 +554,50 @@ public class AppSwing {
         );
     }
 
+    /**
+     * Escribe un mensaje en el área de salida (acotada; se pinta una vez por frame, ver ConsolaSalida).
+     */
     private void escribirSalida(String mensaje) {
-        salidaArea.append(mensaje + "\n");
+        salida.escribir(mensaje);
+    }
+
+    private static void enSiguienteFrame(Runnable accion) {
+        Timer timer = new Timer(MS_POR_FRAME, e -> accion.run());
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    // -------------------------
+    // 6.1) Tareas largas (importar/exportar): una a la vez, con progreso y cancelación
+    // -------------------------
+
+    private boolean hayTareaLarga() {
+        if (tareaLarga == null || tareaLarga.terminada()) return false;
+
+        mostrarDialogo(MSG_TAREA_EN_CURSO);
+        return true;
+    }
+
+    private <T> void iniciarTareaLarga(EjecutorSegundoPlano.Trabajo<T> trabajo, Consumer<T> alTerminar) {
+        progresoBar.setValue(0);
+        mostrarProgreso(true);
+
+        tareaLarga = ejecutor.ejecutarConProgreso(trabajo,
+                fraccion -> progresoBar.setValue((int) Math.round(fraccion * 100)),
+                resultado -> {
+                    terminarTareaLarga();
+                    alTerminar.accept(resultado);
+                });
+    }
+
+    private void terminarTareaLarga() {
+        tareaLarga = null;
+        mostrarProgreso(false);
+    }
+
+    private void mostrarProgreso(boolean visible) {
+        progresoBar.setVisible(visible);
+        cancelarBoton.setVisible(visible);
     }
 
     private void mostrarDialogo(String mensaje) {
@@ -321,20 +639,22 @@ public class AppSwing {
         return text == null ? "" : text.trim();
     }
 
-    private Integer parsearEnteroSeguro(String texto) {
+    private Long parsearIdSeguro(String texto) {
         try {
-            return Integer.parseInt(texto);
+            return Long.parseLong(texto);
         } catch (NumberFormatException ex) {
             return null;
         }
     }
 
-    private String construirListadoContactos(List<Contacto> contactos) {
-        StringBuilder sb = new StringBuilder(EMOJI_BOOK).append("Contactos:\n");
-        for (Contacto c : contactos) {
-            sb.append("- ").append(c).append("\n");
+    private void escribirSimilares(List<Contacto> similares) {
+        if (similares.isEmpty()) return;
+
+        StringBuilder sb = new StringBuilder("   ¿Quisiste decir?");
+        for (Contacto contacto : similares) {
+            sb.append("\n   - ").append(contacto);
         }
-        return sb.toString();
+        escribirSalida(sb.toString());
     }
 
     private void limpiarTextField(JTextField field) {
@@ -0,0 +1,287 @@
+package app;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Importar / exportar contactos en texto (CSV, UTF-8): una línea "nombre,apellido,telefono" por contacto.
+ *
+ * - Comillas como en RFC 4180: un campo con ',', '"' o salto de línea se escribe entre comillas y sus '"'
+ *   se duplican (Pérez,Jr -> "Pérez,Jr"; 55"12 -> "55""12"). Un campo entre comillas puede ocupar varias líneas.
+ * - Al importar, una '"' solo abre comillas al principio de un campo, y un teléfono sin comillas es el resto
+ *   de la línea (como en los archivos de antes, que no usaban comillas y podían llevar ',' o '"' en el teléfono).
+ * - Un registro se lee de una pasada (O(largo)) y ocupa como mucho MAX_LINEAS_POR_REGISTRO líneas: si unas
+ *   comillas no se cierran antes, solo esa línea cuenta como inválida y las siguientes se vuelven a leer
+ *   como registros normales (una comilla suelta no se traga el resto del archivo).
+ *
+ * Pensado para correr en segundo plano (EjecutorSegundoPlano): informa progreso y se corta si la tarea
+ * se cancela (lo ya importado se queda en la agenda).
+ */
+final class ArchivoContactos {
+
+    private static final char SEPARADOR = ',';
+    private static final char COMILLA = '"';
+    private static final int CAMPOS = 3;
+    private static final int MAX_LINEAS_POR_REGISTRO = 32;
+    private static final int TAMANIO_LOTE = 1000;
+
+    /**
+     * Resultado de una importación.
+     *
+     * @param leidos    Líneas con datos.
+     * @param anadidos  Contactos añadidos.
+     * @param invalidos Líneas con nombre/apellido inválidos (no se intentaron añadir).
+     */
+    record ResumenImportacion(int leidos, int anadidos, int invalidos) {
+
+        int rechazados() {
+            return leidos - invalidos - anadidos; // duplicados o agenda llena
+        }
+    }
+
+    private ArchivoContactos() {
+    }
+
+    /**
+     * Añade a la agenda los contactos del archivo, por lotes (Agenda.anadirContactos).
+     * Progreso: bytes UTF-8 leídos sobre el tamaño del archivo (cada fin de línea cuenta como un byte).
+     */
+    static ResumenImportacion importar(Path archivo, Agenda agenda, EjecutorSegundoPlano.Progreso progreso)
+            throws IOException {
+        long total = Math.max(1, Files.size(archivo));
+        int leidos = 0;
+        int anadidos = 0;
+        int invalidos = 0;
+
+        List<Contacto> lote = new ArrayList<>(TAMANIO_LOTE);
+        try (Lineas lineas = new Lineas(Files.newBufferedReader(archivo, StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lineas.siguiente()) != null) {
+                if (linea.isBlank()) continue;
+
+                leidos++;
+                Contacto contacto = leerRegistro(linea, lineas);
+                if (contacto == null) {
+                    invalidos++;
+                } else {
+                    lote.add(contacto);
+                }
+
+                if (lote.size() == TAMANIO_LOTE) {
+                    progreso.comprobarCancelacion();
+                    anadidos += agenda.anadirContactos(lote).getAnadidos();
+                    lote.clear();
+                    progreso.informar(lineas.bytesLeidos(), total);
+                }
+            }
+        }
+
+        anadidos += agenda.anadirContactos(lote).getAnadidos();
+        progreso.informar(total, total);
+        return new ResumenImportacion(leidos, anadidos, invalidos);
+    }
+
+    /**
+     * Escribe todos los contactos de la agenda (orden de listarContactos()).
+     *
+     * @return Contactos escritos.
+     */
+    static int exportar(Agenda agenda, Path archivo, EjecutorSegundoPlano.Progreso progreso) throws IOException {
+        List<Contacto> contactos = agenda.listarContactos();
+        int total = contactos.size();
+
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < total; i++) {
+                Contacto contacto = contactos.get(i);
+                escritor.append(campo(contacto.getNombre())).append(SEPARADOR)
+                        .append(campo(contacto.getApellido())).append(SEPARADOR)
+                        .append(campo(contacto.getTelefono())).append('\n');
+
+                if ((i + 1) % TAMANIO_LOTE == 0) {
+                    progreso.comprobarCancelacion();
+                    progreso.informar(i + 1, total);
+                }
+            }
+        }
+
+        progreso.informar(total, total);
+        return total;
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    /**
+     * @return El valor tal cual o, si lleva separador, comillas o saltos de línea, entre comillas.
+     */
+    private static String campo(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == SEPARADOR || c == COMILLA || c == '\n' || c == '\r') {
+                return COMILLA + valor.replace("\"", "\"\"") + COMILLA;
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Lee un registro que empieza en "primera" (y sigue en las líneas siguientes si un campo entre comillas
+     * tiene saltos de línea).
+     *
+     * @return El contacto del registro, o null si no es válido.
+     */
+    private static Contacto leerRegistro(String primera, Lineas lineas) throws IOException {
+        Registro registro = new Registro();
+        List<String> continuacion = new ArrayList<>();
+        String linea = primera;
+        while (!registro.anadirLinea(linea)) { // un campo entre comillas sigue en la línea siguiente
+            if (continuacion.size() == MAX_LINEAS_POR_REGISTRO - 1 || (linea = lineas.siguiente()) == null) {
+                lineas.devolver(continuacion); // comillas sin cerrar: solo falla la primera línea
+                return null;
+            }
+            continuacion.add(linea);
+        }
+
+        List<String> campos = registro.campos();
+        if (campos == null || campos.size() < 2) return null;
+
+        try {
+            return new Contacto(campos.get(0), campos.get(1), campos.size() == CAMPOS ? campos.get(2) : null);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Campos de un registro, leídos línea a línea en una sola pasada (cada carácter se mira una vez).
+     */
+    private static final class Registro {
+        private final List<String> campos = new ArrayList<>(CAMPOS);
+        private final StringBuilder valor = new StringBuilder();
+        private boolean entreComillas;
+        private boolean invalido;
+
+        /**
+         * @return true si el registro ya terminó (completo o inválido); false si falta la línea siguiente.
+         */
+        boolean anadirLinea(String linea) {
+            int n = linea.length();
+            int i = 0;
+            if (entreComillas) {
+                valor.append('\n'); // el salto de línea es parte del campo
+            }
+
+            while (true) {
+                if (entreComillas) {
+                    while (i < n) {
+                        char c = linea.charAt(i++);
+                        if (c != COMILLA) {
+                            valor.append(c);
+                        } else if (i < n && linea.charAt(i) == COMILLA) {
+                            valor.append(COMILLA); // "" dentro de comillas
+                            i++;
+                        } else {
+                            entreComillas = false;
+                            break;
+                        }
+                    }
+                    if (entreComillas) return false;
+
+                    campos.add(valor.toString());
+                    if (i == n) return true;
+                    if (campos.size() == CAMPOS || linea.charAt(i) != SEPARADOR) {
+                        invalido = true; // texto pegado detrás de las comillas
+                        return true;
+                    }
+                    i++;
+                }
+
+                // Principio de un campo
+                if (i < n && linea.charAt(i) == COMILLA) {
+                    entreComillas = true;
+                    valor.setLength(0);
+                    i++;
+                    continue;
+                }
+                int fin = campos.size() == CAMPOS - 1 ? -1 : linea.indexOf(SEPARADOR, i); // teléfono: el resto
+                if (fin < 0) {
+                    campos.add(linea.substring(i));
+                    return true;
+                }
+                campos.add(linea.substring(i, fin));
+                i = fin + 1;
+            }
+        }
+
+        /**
+         * @return Hasta CAMPOS campos ya sin comillas, o null si el registro está mal formado.
+         */
+        List<String> campos() {
+            return invalido ? null : campos;
+        }
+    }
+
+    /**
+     * Líneas del archivo, con la opción de devolver algunas para leerlas otra vez, y los bytes UTF-8 leídos.
+     */
+    private static final class Lineas implements AutoCloseable {
+        private final BufferedReader lector;
+        private final ArrayDeque<String> devueltas = new ArrayDeque<>();
+        private long bytesLeidos;
+
+        Lineas(BufferedReader lector) {
+            this.lector = lector;
+        }
+
+        String siguiente() throws IOException {
+            String linea = devueltas.pollFirst();
+            if (linea != null) return linea;
+
+            linea = lector.readLine();
+            if (linea != null) bytesLeidos += bytesUtf8(linea) + 1;
+            return linea;
+        }
+
+        void devolver(List<String> lineas) {
+            for (int i = lineas.size() - 1; i >= 0; i--) {
+                devueltas.addFirst(lineas.get(i));
+            }
+        }
+
+        long bytesLeidos() {
+            return bytesLeidos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lector.close();
+        }
+
+        private static int bytesUtf8(String texto) {
+            int bytes = 0;
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c)) {
+                    bytes += 4; // el par entero; la otra mitad suma 0
+                    i++;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package app;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Cliente (bloqueante) de ServidorBinario. Sirve para pruebas locales y para otros servicios Java.
+ *
+ * Dos formas de uso:
+ * - Simple: obtenerPorIds(...), obtenerPorNombres(...), anadir(...), eliminar(...), contactos()
+ *   envían la petición y esperan su respuesta.
+ * - Pipelining: enviarObtenerPorIds(...) / enviarObtenerPorNombres(...) solo encolan la petición y devuelven
+ *   su idPeticion; recibirContactos(idPeticion) envía lo encolado y lee la siguiente respuesta
+ *   (llegan en el mismo orden). Mejor no encolar más de unas decenas sin leer: si el servidor
+ *   no puede entregar respuestas, deja de leer peticiones y ambos lados se quedarían esperando.
+ *   Los arrays de un lote encolado no se deben modificar hasta recibir su respuesta.
+ * - Lotes que no caben: si la respuesta de un multi-get no cabe en TAMANIO_BUFFER (contactos grandes), el
+ *   servidor responde RESPUESTA_DEMASIADO_GRANDE y recibirContactos parte el lote en dos mitades, las pide y
+ *   junta los resultados (en el mismo orden). Las respuestas de otros lotes encolados que llegan mientras
+ *   tanto se guardan hasta que se pidan. Igual con la petición: obtenerPorNombres parte el lote si los
+ *   nombres no caben en una trama.
+ *
+ * No es thread-safe: una conexión por hilo.
+ */
+public final class ClienteBinario implements AutoCloseable {
+
+    /**
+     * Resultado de un alta: el motivo y, si fue OK, el ID asignado.
+     */
+    public record Alta(ResultadoOperacion resultado, long id) {
+    }
+
+    private final SocketChannel canal;
+    private final ByteBuffer salida = ByteBuffer.allocateDirect(ProtocoloBinario.TAMANIO_BUFFER);
+    private final ByteBuffer entrada = ByteBuffer.allocateDirect(ProtocoloBinario.TAMANIO_BUFFER);
+    private final byte[] temporal = new byte[ProtocoloBinario.MAX_TEXTO];
+    private int siguienteIdPeticion;
+    private int posicionPeticion; // inicio de la trama que se está escribiendo en "salida"
+    private int finRespuesta;     // fin de la respuesta que se está leyendo de "entrada"
+    private int idRespuesta;      // idPeticion de la última respuesta leída
+
+    // Multi-gets enviados y aún sin recibir (para partirlos si no caben), y respuestas leídas antes de tiempo.
+    private final Map<Integer, Lote> lotesPendientes = new HashMap<>();
+    private final Map<Integer, RespuestaLote> adelantadas = new HashMap<>();
+
+    /**
+     * Un multi-get: por IDs (ids) o por nombres (nombres + apellidos).
+     */
+    private record Lote(long[] ids, String[] nombres, String[] apellidos) {
+
+        int tamanio() {
+            return ids != null ? ids.length : nombres.length;
+        }
+
+        Lote parte(int desde, int hasta) {
+            return ids != null
+                    ? new Lote(Arrays.copyOfRange(ids, desde, hasta), null, null)
+                    : new Lote(null, Arrays.copyOfRange(nombres, desde, hasta), Arrays.copyOfRange(apellidos, desde, hasta));
+        }
+    }
+
+    private record RespuestaLote(byte estado, List<Contacto> contactos) {
+    }
+
+    private ClienteBinario(SocketChannel canal) {
+        this.canal = canal;
+        entrada.limit(0); // vacía, en modo lectura
+    }
+
+    public static ClienteBinario conectar(String host, int puerto) throws IOException {
+        SocketChannel canal = SocketChannel.open(new InetSocketAddress(host, puerto));
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new ClienteBinario(canal);
+    }
+
+    // -------------------------
+    // 1) Operaciones simples
+    // -------------------------
+
+    /**
+     * @return Un contacto por ID, en el mismo orden (null donde no existe).
+     */
+    public List<Contacto> obtenerPorIds(long... ids) throws IOException {
+        return recibirContactos(enviarObtenerPorIds(ids));
+    }
+
+    /**
+     * @return Un contacto por pareja (nombres[i], apellidos[i]), en el mismo orden (null donde no existe).
+     */
+    public List<Contacto> obtenerPorNombres(String[] nombres, String[] apellidos) throws IOException {
+        comprobarNombres(nombres, apellidos);
+        int idPeticion = enviarNombres(nombres, apellidos);
+        if (idPeticion < 0) {
+            // La petición no cabe en una trama: se pide en dos mitades.
+            Lote lote = new Lote(null, nombres, apellidos);
+            return partir(lote);
+        }
+        return recibirContactos(idPeticion);
+    }
+
+    /**
+     * @return OK con el ID nuevo, o el motivo: DUPLICATE, FULL o NULL (datos inválidos, p.ej. nombre vacío).
+     */
+    public Alta anadir(String nombre, String apellido, String telefono) throws IOException {
+        int idPeticion = abrirPeticion(ProtocoloBinario.ANADIR);
+        ProtocoloBinario.escribirTexto(salida, nombre);
+        ProtocoloBinario.escribirTexto(salida, apellido);
+        ProtocoloBinario.escribirTexto(salida, telefono == null ? "" : telefono);
+        cerrarPeticion();
+
+        byte estado = recibir(idPeticion);
+        ResultadoOperacion resultado = ProtocoloBinario.resultadoDe(estado);
+        long id = finRespuesta - entrada.position() >= Long.BYTES ? entrada.getLong() : EventoAgenda.SIN_ID;
+        terminarRespuesta();
+        return new Alta(resultado, id);
+    }
+
+    public ResultadoOperacion eliminar(long id) throws IOException {
+        int idPeticion = abrirPeticion(ProtocoloBinario.ELIMINAR);
+        salida.putLong(id);
+        cerrarPeticion();
+
+        byte estado = recibir(idPeticion);
+        terminarRespuesta();
+        return ProtocoloBinario.resultadoDe(estado);
+    }
+
+    /**
+     * @return Contactos que hay ahora mismo en la agenda del servidor.
+     */
+    public int contactos() throws IOException {
+        int idPeticion = abrirPeticion(ProtocoloBinario.ESTADO);
+        cerrarPeticion();
+
+        comprobarOk(recibir(idPeticion));
+        int contactos = entrada.getInt();
+        entrada.getInt(); // capacidad
+        terminarRespuesta();
+        return contactos;
+    }
+
+    // -------------------------
+    // 2) Pipelining
+    // -------------------------
+
+    /**
+     * Encola un multi-get por IDs (como mucho MAX_POR_LOTE). No espera la respuesta.
+     *
+     * @return idPeticion, para recibirContactos.
+     */
+    public int enviarObtenerPorIds(long... ids) throws IOException {
+        comprobarLote(ids.length);
+        int idPeticion = abrirPeticion(ProtocoloBinario.OBTENER_POR_IDS);
+        salida.putInt(ids.length);
+        for (long id : ids) {
+            salida.putLong(id);
+        }
+        cerrarPeticion();
+        lotesPendientes.put(idPeticion, new Lote(ids, null, null));
+        return idPeticion;
+    }
+
+    /**
+     * Encola un multi-get por nombre y apellido (como mucho MAX_POR_LOTE, y la petición debe caber en
+     * TAMANIO_BUFFER; obtenerPorNombres parte solo los lotes que no caben). No espera la respuesta.
+     *
+     * @return idPeticion, para recibirContactos.
+     */
+    public int enviarObtenerPorNombres(String[] nombres, String[] apellidos) throws IOException {
+        comprobarNombres(nombres, apellidos);
+        int idPeticion = enviarNombres(nombres, apellidos);
+        if (idPeticion < 0) {
+            throw new IllegalArgumentException("La petición no cabe en " + ProtocoloBinario.TAMANIO_BUFFER + " bytes.");
+        }
+        return idPeticion;
+    }
+
+    /**
+     * Envía lo encolado y lee la respuesta de "idPeticion" (la siguiente, salvo que ya se leyera al partir
+     * otro lote que no cabía).
+     */
+    public List<Contacto> recibirContactos(int idPeticion) throws IOException {
+        RespuestaLote respuesta = adelantadas.remove(idPeticion);
+        if (respuesta == null) {
+            respuesta = leerRespuestasHasta(idPeticion);
+        }
+        Lote lote = lotesPendientes.remove(idPeticion);
+
+        if (respuesta.estado() == ProtocoloBinario.RESPUESTA_DEMASIADO_GRANDE && lote != null && lote.tamanio() > 1) {
+            return partir(lote);
+        }
+        if (respuesta.estado() != ProtocoloBinario.OK) {
+            throw new IOException("El servidor respondió con el estado " + respuesta.estado() + ".");
+        }
+        return respuesta.contactos();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // -------------------------
+    // 3) Helpers
+    // -------------------------
+
+    /**
+     * Empieza una trama en la salida; si no queda sitio para una trama completa, primero envía lo encolado.
+     */
+    private int abrirPeticion(byte operacion) throws IOException {
+        if (salida.remaining() < ProtocoloBinario.TAMANIO_BUFFER / 2) {
+            enviarPendiente();
+        }
+        int idPeticion = siguienteIdPeticion++;
+        posicionPeticion = salida.position();
+        salida.putInt(0); // largo: se corrige en cerrarPeticion
+        salida.putInt(idPeticion);
+        salida.put(operacion);
+        return idPeticion;
+    }
+
+    private void cerrarPeticion() {
+        salida.putInt(posicionPeticion, salida.position() - posicionPeticion - ProtocoloBinario.LARGO_PREFIJO);
+    }
+
+    /**
+     * Lee respuestas hasta la de "idPeticion"; las de otros lotes encolados se guardan en "adelantadas".
+     */
+    private RespuestaLote leerRespuestasHasta(int idPeticion) throws IOException {
+        while (true) {
+            byte estado = recibirTrama();
+            RespuestaLote respuesta = new RespuestaLote(estado, estado == ProtocoloBinario.OK ? leerContactos() : null);
+            terminarRespuesta();
+
+            if (idRespuesta == idPeticion) return respuesta;
+            if (!lotesPendientes.containsKey(idRespuesta)) {
+                throw new IOException("Respuesta " + idRespuesta + " fuera de orden (se esperaba " + idPeticion + ").");
+            }
+            adelantadas.put(idRespuesta, respuesta);
+        }
+    }
+
+    private List<Contacto> leerContactos() {
+        int n = entrada.getInt();
+        List<Contacto> contactos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            contactos.add(ProtocoloBinario.leerContacto(entrada, temporal));
+        }
+        return contactos;
+    }
+
+    /**
+     * Envía cada mitad tal cual; si una mitad por nombres tampoco cabe en una trama, se parte aquí mismo.
+     */
+    private List<Contacto> partir(Lote lote) throws IOException {
+        if (lote.tamanio() < 2) {
+            throw new IllegalArgumentException("Un nombre o apellido no cabe en una trama (MAX_TEXTO bytes como mucho).");
+        }
+        int mitad = lote.tamanio() / 2;
+        Lote primera = lote.parte(0, mitad);
+        Lote segunda = lote.parte(mitad, lote.tamanio());
+        int idPrimera = enviar(primera);
+        int idSegunda = enviar(segunda);
+
+        List<Contacto> contactos = new ArrayList<>(idPrimera < 0 ? partir(primera) : recibirContactos(idPrimera));
+        contactos.addAll(idSegunda < 0 ? partir(segunda) : recibirContactos(idSegunda));
+        return contactos;
+    }
+
+    /**
+     * @return idPeticion, o -1 si la petición no cabe en una trama.
+     */
+    private int enviar(Lote lote) throws IOException {
+        return lote.ids() != null
+                ? enviarObtenerPorIds(lote.ids())
+                : enviarNombres(lote.nombres(), lote.apellidos());
+    }
+
+    /**
+     * Encola el multi-get por nombres; si no cabe tras lo ya encolado, lo envía y lo reintenta con la salida vacía.
+     *
+     * @return idPeticion, o -1 si no cabe ni con la salida vacía (nada queda a medias en la salida).
+     */
+    private int enviarNombres(String[] nombres, String[] apellidos) throws IOException {
+        int idPeticion = abrirPeticion(ProtocoloBinario.OBTENER_POR_NOMBRES);
+        try {
+            salida.putInt(nombres.length);
+            for (int i = 0; i < nombres.length; i++) {
+                ProtocoloBinario.escribirTexto(salida, nombres[i]);
+                ProtocoloBinario.escribirTexto(salida, apellidos[i]);
+            }
+        } catch (BufferOverflowException e) {
+            salida.position(posicionPeticion);
+            siguienteIdPeticion--;
+            if (posicionPeticion == 0) return -1;
+            enviarPendiente();
+            return enviarNombres(nombres, apellidos);
+        }
+        cerrarPeticion();
+        lotesPendientes.put(idPeticion, new Lote(null, nombres, apellidos));
+        return idPeticion;
+    }
+
+    private void enviarPendiente() throws IOException {
+        salida.flip();
+        while (salida.hasRemaining()) {
+            canal.write(salida);
+        }
+        salida.clear();
+    }
+
+    /**
+     * Envía lo encolado y deja la entrada posicionada en los datos de la siguiente respuesta.
+     *
+     * @return Su estado.
+     */
+    private byte recibir(int idPeticionEsperado) throws IOException {
+        byte estado = recibirTrama();
+        if (idRespuesta != idPeticionEsperado) {
+            throw new IOException("Respuesta " + idRespuesta + " fuera de orden (se esperaba " + idPeticionEsperado + ").");
+        }
+        return estado;
+    }
+
+    /**
+     * Envía lo encolado y deja la entrada posicionada en los datos de la siguiente respuesta, sea cual sea.
+     *
+     * @return Su estado (su idPeticion queda en idRespuesta).
+     */
+    private byte recibirTrama() throws IOException {
+        enviarPendiente();
+        leerAlMenos(ProtocoloBinario.LARGO_PREFIJO);
+        int largo = entrada.getInt();
+        leerAlMenos(largo);
+        finRespuesta = entrada.position() + largo;
+
+        idRespuesta = entrada.getInt();
+        return entrada.get();
+    }
+
+    private void terminarRespuesta() {
+        entrada.position(finRespuesta);
+    }
+
+    private void leerAlMenos(int bytes) throws IOException {
+        if (entrada.remaining() >= bytes) return;
+        entrada.compact();
+        while (entrada.position() < bytes) {
+            if (canal.read(entrada) < 0) {
+                throw new EOFException("El servidor cerró la conexión.");
+            }
+        }
+        entrada.flip();
+    }
+
+    private void comprobarOk(byte estado) throws IOException {
+        if (estado != ProtocoloBinario.OK) {
+            terminarRespuesta(); // la conexión sigue sirviendo para las siguientes
+            throw new IOException("El servidor respondió con el estado " + estado + ".");
+        }
+    }
+
+    private static void comprobarNombres(String[] nombres, String[] apellidos) {
+        if (nombres.length != apellidos.length) {
+            throw new IllegalArgumentException("nombres y apellidos deben tener el mismo largo.");
+        }
+        comprobarLote(nombres.length);
+    }
+
+    private static void comprobarLote(int n) {
+        if (n > ProtocoloBinario.MAX_POR_LOTE) {
+            throw new IllegalArgumentException("Como mucho " + ProtocoloBinario.MAX_POR_LOTE + " por lote.");
+        }
+    }
+}
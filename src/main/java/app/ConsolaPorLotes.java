@@ -0,0 +1,196 @@
+package app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Modo por lotes (no interactivo) de AppConsola: un comando por línea, sin menú ni preguntas.
+ *
+ * Comandos (separados por espacios; líneas vacías y las que empiezan por # se ignoran):
+ * - add NOMBRE APELLIDO [TELEFONO...] -> "OK <id>" o el motivo (DUPLICATE, FULL)
+ * - find NOMBRE APELLIDO             -> el contacto o NOT_FOUND
+ * - del ID                           -> OK o NOT_FOUND
+ * - list                             -> todos los contactos, uno por línea
+ * - list ORDEN OFFSET LIMITE         -> una página ordenada (ORDEN: apellido, nombre, id o telefono)
+ * Un comando mal escrito produce "ERROR línea N: ..." y se sigue con el siguiente.
+ *
+ * Rendimiento: la entrada se lee con un BufferedReader y los resultados se escriben en un Writer con buffer
+ * (nada de System.out por línea); cada línea se parte a mano, sin expresiones regulares.
+ */
+final class ConsolaPorLotes {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    static final int TAMANIO_BUFFER = 1 << 16;
+
+    // Comando + hasta 3 campos; el último se queda con el resto de la línea (un teléfono puede tener espacios).
+    private static final int MAX_CAMPOS = 4;
+    private static final char COMENTARIO = '#';
+    private static final char SALTO = '\n';
+
+    private static final String OK = "OK";
+    private static final String NO_ENCONTRADO = ResultadoOperacion.NOT_FOUND.name();
+    private static final String MSG_USO_LIST = "uso: list [apellido|nombre|id|telefono OFFSET LIMITE]";
+
+    /**
+     * Resultado de una ejecución.
+     *
+     * @param comandos Comandos ejecutados (sin contar líneas vacías ni comentarios).
+     * @param errores  Comandos mal escritos.
+     * @param nanos    Tiempo total.
+     */
+    record Resumen(long comandos, long errores, long nanos) {
+
+        double comandosPorSegundo() {
+            return nanos == 0 ? 0 : comandos * 1e9 / nanos;
+        }
+    }
+
+    private ConsolaPorLotes() {
+    }
+
+    // -------------------------
+    // 2) API
+    // -------------------------
+
+    /**
+     * Ejecuta todos los comandos de "entrada" sobre la agenda. Vuelca "salida" al terminar (no la cierra).
+     */
+    static Resumen ejecutar(BufferedReader entrada, Writer salida, Agenda agenda) throws IOException {
+        String[] campos = new String[MAX_CAMPOS];
+        long comandos = 0;
+        long errores = 0;
+        long numeroLinea = 0;
+        long inicio = System.nanoTime();
+
+        String linea;
+        while ((linea = entrada.readLine()) != null) {
+            numeroLinea++;
+            int n = partir(linea, campos);
+            if (n == 0 || campos[0].charAt(0) == COMENTARIO) continue;
+
+            comandos++;
+            String error = ejecutarComando(campos, n, agenda, salida);
+            if (error != null) {
+                errores++;
+                salida.write("ERROR línea " + numeroLinea + ": " + error);
+                salida.write(SALTO);
+            }
+        }
+
+        salida.flush();
+        return new Resumen(comandos, errores, System.nanoTime() - inicio);
+    }
+
+    // -------------------------
+    // 3) Comandos
+    // -------------------------
+
+    /**
+     * @return null si el comando se entendió (aunque la operación no tenga éxito), o el motivo del error.
+     */
+    private static String ejecutarComando(String[] campos, int n, Agenda agenda, Writer salida) throws IOException {
+        switch (campos[0]) {
+            case "add" -> {
+                if (n < 3) return "uso: add NOMBRE APELLIDO [TELEFONO]";
+                Contacto contacto;
+                try {
+                    contacto = new Contacto(campos[1], campos[2], n == MAX_CAMPOS ? campos[3] : null);
+                } catch (IllegalArgumentException ex) {
+                    return ex.getMessage();
+                }
+                ResultadoOperacion resultado = agenda.anadirContacto(contacto);
+                escribirLinea(salida, resultado.esExito() ? OK + ' ' + contacto.getId() : resultado.name());
+            }
+            case "find" -> {
+                if (n != 3) return "uso: find NOMBRE APELLIDO";
+                Contacto encontrado = agenda.buscaContacto(campos[1], campos[2]);
+                escribirLinea(salida, encontrado != null ? encontrado.toString() : NO_ENCONTRADO);
+            }
+            case "del" -> {
+                if (n != 2) return "uso: del ID";
+                long id;
+                try {
+                    id = Long.parseLong(campos[1]);
+                } catch (NumberFormatException ex) {
+                    return "ID inválido: " + campos[1];
+                }
+                escribirLinea(salida, agenda.eliminarContactoPorId(id).esExito() ? OK : NO_ENCONTRADO);
+            }
+            case "list" -> {
+                if (n == 1) {
+                    escribirTodos(salida, agenda.listarContactos());
+                    return null;
+                }
+                return listarPagina(campos, n, agenda, salida);
+            }
+            default -> {
+                return "comando desconocido: " + campos[0];
+            }
+        }
+        return null;
+    }
+
+    private static String listarPagina(String[] campos, int n, Agenda agenda, Writer salida) throws IOException {
+        if (n != MAX_CAMPOS) return MSG_USO_LIST;
+
+        OrdenContactos orden;
+        int offset;
+        int limite;
+        try {
+            orden = OrdenContactos.valueOf(campos[1].toUpperCase(Locale.ROOT));
+            offset = Integer.parseInt(campos[2]);
+            limite = Integer.parseInt(campos[3]); // último campo: el resto de la línea
+        } catch (IllegalArgumentException ex) { // también NumberFormatException
+            return MSG_USO_LIST;
+        }
+        escribirTodos(salida, agenda.listarContactos(orden, offset, limite));
+        return null;
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    /**
+     * Parte la línea por espacios (sin regex). El último campo se queda con el resto de la línea.
+     *
+     * @return Número de campos (0 si la línea está en blanco).
+     */
+    private static int partir(String linea, String[] campos) {
+        int n = 0;
+        int i = 0;
+        int largo = linea.length();
+        while (n < campos.length) {
+            while (i < largo && linea.charAt(i) == ' ') i++;
+            if (i == largo) break;
+
+            if (n == campos.length - 1) {
+                campos[n++] = linea.substring(i).trim();
+                break;
+            }
+            int fin = linea.indexOf(' ', i);
+            if (fin < 0) fin = largo;
+            campos[n++] = linea.substring(i, fin);
+            i = fin;
+        }
+        return n;
+    }
+
+    private static void escribirTodos(Writer salida, List<Contacto> contactos) throws IOException {
+        for (Contacto contacto : contactos) {
+            escribirLinea(salida, contacto.toString());
+        }
+    }
+
+    private static void escribirLinea(Writer salida, String texto) throws IOException {
+        salida.write(texto);
+        salida.write(SALTO);
+    }
+}
@@ -0,0 +1,136 @@
+package app;
+
+import java.util.function.Consumer;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Área de salida ("log") acotada y por tandas, común a Swing y JavaFX.
+ *
+ * - Buffer circular de las últimas maxLineas líneas: el documento nunca crece sin límite.
+ * - Los mensajes se acumulan y se vuelcan a la vista en una sola actualización por tanda
+ *   (el "programador" decide cuándo: siguiente frame en Swing, siguiente pulso en JavaFX).
+ * - Si desde el último volcado no se descartó ninguna línea, solo se añade el texto nuevo;
+ *   si se descartaron, se reescribe la vista completa (como mucho maxLineas líneas).
+ *
+ * escribir() se puede llamar desde cualquier hilo; la vista solo se toca en el hilo de la UI.
+ */
+final class ConsolaSalida {
+
+    /**
+     * Componente de texto real (JTextArea, TextArea de JavaFX...). Solo se usa en el hilo de la UI.
+     */
+    interface Vista {
+
+        void anadir(String texto);
+
+        void reemplazar(String texto);
+    }
+
+    private static final char SALTO = '\n';
+
+    private final Vista vista;
+    private final Consumer<Runnable> programador;
+
+    // Buffer circular: "tamanio" líneas a partir de "inicio".
+    private final String[] lineas;
+    private int inicio;
+    private int tamanio;
+
+    private final StringBuilder pendiente = new StringBuilder();
+    private boolean hayDescartadas;
+    private boolean volcadoProgramado;
+
+    /**
+     * @param maxLineas   Líneas que se conservan (las más antiguas se descartan).
+     * @param programador Ejecuta el volcado en el hilo de la UI en el siguiente frame.
+     */
+    ConsolaSalida(Vista vista, int maxLineas, Consumer<Runnable> programador) {
+        if (maxLineas <= 0) {
+            throw new IllegalArgumentException("maxLineas debe ser > 0.");
+        }
+        this.vista = vista;
+        this.programador = programador;
+        this.lineas = new String[maxLineas];
+    }
+
+    /**
+     * Añade un mensaje (puede tener varias líneas). No toca la vista: programa un volcado si no hay uno pendiente.
+     */
+    void escribir(String mensaje) {
+        synchronized (this) {
+            int desde = 0;
+            int salto;
+            while ((salto = mensaje.indexOf(SALTO, desde)) >= 0) {
+                agregarLinea(mensaje.substring(desde, salto));
+                desde = salto + 1;
+            }
+            agregarLinea(mensaje.substring(desde));
+
+            if (volcadoProgramado) return;
+            volcadoProgramado = true;
+        }
+        programador.accept(this::volcar);
+    }
+
+    /**
+     * Vacía el buffer y la vista. Llamar en el hilo de la UI.
+     */
+    void limpiar() {
+        synchronized (this) {
+            inicio = 0;
+            tamanio = 0;
+            pendiente.setLength(0);
+            hayDescartadas = false;
+        }
+        vista.reemplazar("");
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private void agregarLinea(String linea) {
+        if (tamanio == lineas.length) {
+            lineas[inicio] = null;
+            inicio = (inicio + 1) % lineas.length;
+            tamanio--;
+            hayDescartadas = true;
+            pendiente.setLength(0); // se reescribirá todo
+        }
+
+        lineas[(inicio + tamanio) % lineas.length] = linea;
+        tamanio++;
+        if (!hayDescartadas) {
+            pendiente.append(linea).append(SALTO);
+        }
+    }
+
+    /**
+     * En el hilo de la UI: una sola actualización de la vista con todo lo acumulado.
+     */
+    private void volcar() {
+        String texto;
+        boolean reemplazar;
+        synchronized (this) {
+            volcadoProgramado = false;
+            reemplazar = hayDescartadas;
+            texto = reemplazar ? contenido() : pendiente.toString();
+            pendiente.setLength(0);
+            hayDescartadas = false;
+        }
+
+        if (reemplazar) {
+            vista.reemplazar(texto);
+        } else if (!texto.isEmpty()) {
+            vista.anadir(texto);
+        }
+    }
+
+    private String contenido() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tamanio; i++) {
+            sb.append(lineas[(inicio + i) % lineas.length]).append(SALTO);
+        }
+        return sb.toString();
+    }
+}
@@ -1,7 +1,6 @@
 package app;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * DOCUMENTACIÓN PARA EL EQUIPO
@@ -11,7 +10,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Reglas de negocio actuales:
  * - nombre y apellido deben ser una sola palabra (sin espacios) y no pueden estar vacíos.
  * - teléfono es opcional (si llega null se guarda como string vacío).
- * - el ID se autogenera de forma incremental (inicia en 1).
+ * - el ID (64 bits) lo entrega el GeneradorIds configurado (por defecto GeneradorIdsPorBloques: inicia en 1,
+ *   consecutivo dentro de cada hilo). Se puede cambiar con usarGeneradorIds.
+ * - nombre y apellido pasan por DiccionarioNombres: nombres iguales comparten una sola instancia de String
+ *   (salvo en las vistas de los almacenes columnar y mapeado, ver vista).
+ * - la clave de búsqueda (nombre + apellido sin mayúsculas ni acentos) se calcula una sola vez al crearlo:
+ *   "José García" y "jose garcia" son el mismo contacto para buscar y para detectar duplicados.
  *
  * Nota: equals/hashCode están basados SOLO en el id (identidad del contacto).
  */
@@ -21,7 +25,7 @@ public class Contacto {
     // 1) Configuración
     // -------------------------
 
-    private static final AtomicInteger ID_GENERATOR = new AtomicInteger(1);
+    private static volatile GeneradorIds generadorIds = new GeneradorIdsPorBloques();
     private static final String EMPTY_PHONE = "";
 
     // Mensajes centralizados para evitar “magical strings”
@@ -32,10 +36,11 @@ public class Contacto {
     // 2) Estado (inmutable)
     // -------------------------
 
-    private final int id;
+    private final long id;
     private final String nombre;
     private final String apellido;
     private final String telefono;
+    private final String claveBusqueda;
 
     // -------------------------
     // 3) Lógica principal (constructor)
@@ -50,20 +55,74 @@ public class Contacto {
      * @throws IllegalArgumentException si nombre o apellido son null/vacíos o contienen espacios.
      */
     public Contacto(String nombre, String apellido, String telefono) {
-        String nombreNormalizado = normalizarPalabraUnica(nombre, "nombre");
-        String apellidoNormalizado = normalizarPalabraUnica(apellido, "apellido");
+        String nombreNormalizado = normalizarPalabraUnica(nombre, "nombre", true);
+        String apellidoNormalizado = normalizarPalabraUnica(apellido, "apellido", true);
 
-        this.id = ID_GENERATOR.getAndIncrement();
+        this.id = generadorIds.siguiente();
         this.nombre = nombreNormalizado;
         this.apellido = apellidoNormalizado;
         this.telefono = normalizarTelefono(telefono);
+        this.claveBusqueda = claveDe(this.nombre, this.apellido);
+    }
+
+    /**
+     * Reconstruye un Contacto con un ID ya asignado (p.ej. vistas del almacén columnar).
+     * Aplica las mismas validaciones, pero NO consume IDs del generador.
+     */
+    Contacto(long id, String nombre, String apellido, String telefono) {
+        this(id, nombre, apellido, telefono, true);
+    }
+
+    private Contacto(long id, String nombre, String apellido, String telefono, boolean compartirNombres) {
+        this.id = id;
+        this.nombre = normalizarPalabraUnica(nombre, "nombre", compartirNombres);
+        this.apellido = normalizarPalabraUnica(apellido, "apellido", compartirNombres);
+        this.telefono = normalizarTelefono(telefono);
+        this.claveBusqueda = claveDe(this.nombre, this.apellido);
+    }
+
+    /**
+     * Vista de vida corta de un registro que ya vive en otro formato (almacenes columnar y mapeado).
+     * Como el constructor con ID, pero sin DiccionarioNombres: la vista se descarta enseguida y compartir
+     * sus nombres solo llenaría el diccionario global con los de toda la agenda.
+     */
+    static Contacto vista(long id, String nombre, String apellido, String telefono) {
+        return new Contacto(id, nombre, apellido, telefono, false);
+    }
+
+    /**
+     * Cambia el generador de IDs de los contactos que se creen a partir de ahora.
+     * Para no repetir IDs ya entregados, el nuevo generador debe continuar donde iba el anterior
+     * (p.ej. nuevo.asegurarMayoresQue(anterior.siguienteLibre() - 1)).
+     */
+    public static void usarGeneradorIds(GeneradorIds generador) {
+        generadorIds = Objects.requireNonNull(generador, "generador");
+    }
+
+    public static GeneradorIds getGeneradorIds() {
+        return generadorIds;
+    }
+
+    /**
+     * Garantiza que el generador no vuelva a entregar IDs <= idExistente.
+     * Se usa al restaurar contactos persistidos (diario, snapshots) para que los nuevos no choquen.
+     */
+    static void asegurarIdsMayoresQue(long idExistente) {
+        generadorIds.asegurarMayoresQue(idExistente);
+    }
+
+    /**
+     * Estado del generador a persistir: ningún ID entregado es >= este valor.
+     */
+    static long siguienteId() {
+        return generadorIds.siguienteLibre();
     }
 
     // -------------------------
     // 4) Getters (API pública)
     // -------------------------
 
-    public int getId() {
+    public long getId() {
         return id;
     }
 
@@ -83,6 +142,13 @@ public class Contacto {
         return nombre + " " + apellido;
     }
 
+    /**
+     * Clave de los índices de la agenda (ver AlmacenContactos.claveDe). Su hash queda cacheado en el String.
+     */
+    String getClaveBusqueda() {
+        return claveBusqueda;
+    }
+
     // -------------------------
     // 5) Igualdad / Representación
     // -------------------------
@@ -98,7 +164,7 @@ public class Contacto {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(id);
     }
 
     @Override
@@ -111,10 +177,11 @@ public class Contacto {
     // -------------------------
 
     /**
-     * Valida que el texto sea una sola palabra (sin espacios) y lo regresa normalizado (trim).
+     * Valida que el texto sea una sola palabra (sin espacios) y lo regresa normalizado (trim),
+     * como instancia compartida del diccionario de nombres (si "compartir").
      * Usa early returns para fallar rápido con mensajes claros.
      */
-    private static String normalizarPalabraUnica(String valor, String campo) {
+    private static String normalizarPalabraUnica(String valor, String campo, boolean compartir) {
         if (valor == null) {
             throw new IllegalArgumentException(String.format(MSG_EMPTY_FIELD, campo));
         }
@@ -130,7 +197,7 @@ public class Contacto {
             throw new IllegalArgumentException(String.format(MSG_SINGLE_WORD, campo));
         }
 
-        return trimmed;
+        return compartir ? DiccionarioNombres.compartir(trimmed) : trimmed;
     }
 
     /**
@@ -140,4 +207,10 @@ public class Contacto {
     private static String normalizarTelefono(String telefono) {
         return telefono == null ? EMPTY_PHONE : telefono.trim();
     }
+
+    private static String claveDe(String nombre, String apellido) {
+        String clave = AlmacenContactos.claveDe(nombre, apellido);
+        clave.hashCode(); // se calcula ya: todas las búsquedas y altas lo reutilizan
+        return clave;
+    }
 }
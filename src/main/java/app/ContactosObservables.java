@@ -0,0 +1,109 @@
+package app;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Vista observable (JavaFX) de los contactos de una Agenda, mantenida con los eventos de alta/baja.
+ *
+ * - Se llena una sola vez al crearla; después cada alta correcta es un add() y cada baja un set() + remove()
+ *   del último ("swap-with-last", como AlmacenEnMemoria): O(1) por cambio, nunca se reconstruye la lista.
+ * - TableView recibe cambios finos (ListChangeListener) y solo repinta las filas afectadas.
+ * - Si el evento llega desde otro hilo, se encola y se aplica en el hilo de JavaFX: un solo Platform.runLater
+ *   por tanda de eventos (una importación de miles de contactos no inunda la cola de JavaFX).
+ *
+ * Crear (y registrar) en el hilo de JavaFX, antes de que otros hilos modifiquen la agenda.
+ */
+final class ContactosObservables implements ReceptorEventos {
+
+    private final ObservableList<Contacto> contactos = FXCollections.observableArrayList();
+
+    // ID -> posición en "contactos" (para quitar en O(1)).
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+
+    // Eventos llegados desde otros hilos, pendientes de aplicar en el hilo de JavaFX.
+    private final Queue<EventoAgenda> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean aplicacionProgramada = new AtomicBoolean();
+
+    private ContactosObservables() {
+    }
+
+    /**
+     * Crea la vista con los contactos actuales y la suscribe a los eventos de la agenda.
+     */
+    static ContactosObservables de(Agenda agenda) {
+        ContactosObservables vista = new ContactosObservables();
+        for (Contacto contacto : agenda.listarContactos()) {
+            vista.agregar(contacto);
+        }
+        agenda.agregarReceptor(vista);
+        return vista;
+    }
+
+    /**
+     * Lista observable para un TableView (no modificarla desde fuera).
+     */
+    ObservableList<Contacto> getContactos() {
+        return contactos;
+    }
+
+    @Override
+    public void recibir(EventoAgenda evento) {
+        if (!evento.resultado().esExito()) return;
+
+        if (Platform.isFxApplicationThread() && pendientes.isEmpty()) {
+            aplicar(evento);
+            return;
+        }
+
+        pendientes.add(evento);
+        if (aplicacionProgramada.compareAndSet(false, true)) {
+            Platform.runLater(this::aplicarPendientes);
+        }
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private void aplicarPendientes() {
+        aplicacionProgramada.set(false); // antes de vaciar: un evento que llegue ahora programa otra tanda
+        EventoAgenda evento;
+        while ((evento = pendientes.poll()) != null) {
+            aplicar(evento);
+        }
+    }
+
+    private void aplicar(EventoAgenda evento) {
+        switch (evento.operacion()) {
+            case ALTA -> agregar(evento.contacto());
+            case BAJA -> quitar(evento.id());
+        }
+    }
+
+    private void agregar(Contacto contacto) {
+        posicionPorId.put(contacto.getId(), contactos.size());
+        contactos.add(contacto);
+    }
+
+    private void quitar(long id) {
+        Integer posicion = posicionPorId.remove(id);
+        if (posicion == null) return;
+
+        int ultima = contactos.size() - 1;
+        if (posicion != ultima) {
+            Contacto movido = contactos.get(ultima);
+            contactos.set(posicion, movido);
+            posicionPorId.put(movido.getId(), posicion);
+        }
+        contactos.remove(ultima);
+    }
+}
@@ -0,0 +1,428 @@
+package app;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Diario binario (append-only) de las altas y bajas de una Agenda, para no perder datos al reiniciar.
+ *
+ * Uso:
+ *   Agenda agenda = new Agenda(1000);
+ *   DiarioAgenda diario = DiarioAgenda.abrir(Path.of("agenda.diario"), agenda, 64, 200);
+ *   // ... usar la agenda ...
+ *   diario.close();
+ *
+ * abrir(...) reproduce el diario existente sobre la agenda y luego se registra como receptor:
+ * cada operación con resultado OK se añade al diario antes de que anadirContacto/eliminarContactoPorId
+ * devuelvan el control.
+ *
+ * Group commit (durabilidad vs. coste):
+ * - Los registros se acumulan en un buffer y se hace fsync cada "opsPorFsync" operaciones
+ *   y/o cada "msPorFsync" milisegundos (lo que ocurra antes). opsPorFsync = 1 => fsync por operación.
+ * - Ante un corte, se pueden perder como mucho las operaciones aún no sincronizadas.
+ * - Los registros se añaden a un buffer con un lock corto; el write + fsync se hace fuera de ese lock,
+ *   con el buffer ya intercambiado por otro vacío: mientras un hilo espera al disco, los demás siguen
+ *   añadiendo. Un hilo que necesita fsync y ve que otro ya sincronizó su registro no repite el fsync.
+ *
+ * Instantáneas: escribirInstantanea(...) escribe una InstantaneaAgenda y vacía el diario sin perder operaciones.
+ * Las altas/bajas de la agenda NO esperan: se aplican igual, y lo único que se bloquea es su recibir (añadir el
+ * registro al diario) hasta que el diario está vacío. Cada operación queda en la instantánea, en el diario
+ * nuevo o en los dos; en los dos, al reproducir sale DUPLICATE / NOT_FOUND y no cambia nada.
+ *
+ * Formato:
+ * - Cabecera: MAGIA (int) + VERSION (int).
+ * - Registro: largo (int) + crc32 del payload (int) + payload.
+ *   Payload: tipo (byte) + id (long) [+ nombre, apellido, telefono como largo (int) + UTF-8 si es alta].
+ * - Un registro incompleto o con CRC incorrecto al final (corte a medias) se descarta y se trunca.
+ */
+public final class DiarioAgenda implements ReceptorEventos, AutoCloseable {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int MAGIA = 0x41474A31; // "AGJ1"
+    private static final int VERSION = 2; // 2: IDs de 64 bits
+    private static final int LARGO_CABECERA = 8;
+    private static final int LARGO_CABECERA_REGISTRO = 8;
+
+    private static final byte TIPO_ALTA = 1;
+    private static final byte TIPO_BAJA = 2;
+
+    private static final int TAMANIO_BUFFER = 1 << 16;
+    private static final int LARGO_MAXIMO_REGISTRO = 1 << 24; // más que esto solo puede ser basura
+    private static final String NOMBRE_HILO = "agenda-diario";
+
+    private static final String MSG_NO_ES_DIARIO = "El archivo no es un diario de agenda: ";
+    private static final String MSG_AGENDA_LLENA = "La agenda (capacidad %d) se llenó al reproducir el diario %s en el registro %d.";
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final FileChannel canal;
+    private final int opsPorFsync;
+    private final ScheduledExecutorService temporizador;
+    private final CRC32 crc = new CRC32();
+    private final long registrosReproducidos;
+
+    // lockBuffer: buffer, opsPendientes, registrosAnadidos. lockArchivo: el canal y "repuesto" (un solo hilo
+    // escribe en el archivo). Si se necesitan los dos, primero lockArchivo.
+    private final ReentrantLock lockBuffer = new ReentrantLock();
+    private final ReentrantLock lockArchivo = new ReentrantLock();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_BUFFER);
+    private ByteBuffer repuesto = ByteBuffer.allocate(TAMANIO_BUFFER);
+    private int opsPendientes;
+    private long registrosAnadidos;
+    private volatile long registrosSincronizados;
+
+    private DiarioAgenda(FileChannel canal, int opsPorFsync, long msPorFsync, long registrosReproducidos) {
+        this.canal = canal;
+        this.opsPorFsync = Math.max(1, opsPorFsync);
+        this.registrosReproducidos = registrosReproducidos;
+        this.temporizador = msPorFsync > 0 ? crearTemporizador(msPorFsync) : null;
+    }
+
+    // -------------------------
+    // 3) Lógica principal (abrir / reproducir)
+    // -------------------------
+
+    /**
+     * Abre (o crea) el diario, reproduce su contenido sobre la agenda y empieza a registrar sus operaciones.
+     * La agenda debería estar vacía y sin otros receptores que no deban ver la reproducción.
+     *
+     * @param opsPorFsync Operaciones entre fsync (mínimo 1).
+     * @param msPorFsync  Milisegundos máximos entre fsync (0 o negativo = solo por número de operaciones).
+     */
+    public static DiarioAgenda abrir(Path archivo, Agenda agenda, int opsPorFsync, long msPorFsync) throws IOException {
+        boolean hayDatos = Files.exists(archivo) && Files.size(archivo) > 0;
+        Reproduccion reproduccion = hayDatos ? reproducir(archivo, agenda) : Reproduccion.VACIA;
+
+        FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (reproduccion.finValido() == 0) {
+            escribirCabecera(canal);
+        } else {
+            canal.truncate(reproduccion.finValido()); // descarta una cola a medias
+            canal.position(reproduccion.finValido());
+        }
+
+        DiarioAgenda diario = new DiarioAgenda(canal, opsPorFsync, msPorFsync, reproduccion.registros());
+        agenda.agregarReceptor(diario);
+        return diario;
+    }
+
+    /**
+     * Aplica sobre la agenda todas las operaciones válidas del diario (sin registrarse como receptor).
+     *
+     * @return Registros aplicados y posición del final del último registro válido.
+     * @throws IOException si el archivo no es un diario o si la agenda se llena antes de terminar.
+     */
+    static Reproduccion reproducir(Path archivo, Agenda agenda) throws IOException {
+        try (InputStream in = Files.newInputStream(archivo);
+             DataInputStream datos = new DataInputStream(new BufferedInputStream(in, TAMANIO_BUFFER))) {
+
+            if (datos.readInt() != MAGIA || datos.readInt() != VERSION) {
+                throw new IOException(MSG_NO_ES_DIARIO + archivo);
+            }
+
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[256];
+            long finValido = LARGO_CABECERA;
+            long registros = 0;
+
+            while (true) {
+                int largo;
+                int crcEsperado;
+                try {
+                    largo = datos.readInt();
+                    crcEsperado = datos.readInt();
+                    if (largo <= 0 || largo > LARGO_MAXIMO_REGISTRO) break;
+                    if (payload.length < largo) payload = new byte[largo];
+                    datos.readFully(payload, 0, largo);
+                } catch (EOFException ex) {
+                    break; // fin del diario (o registro cortado a medias)
+                }
+
+                crc.reset();
+                crc.update(payload, 0, largo);
+                if ((int) crc.getValue() != crcEsperado) break;
+
+                if (aplicar(ByteBuffer.wrap(payload, 0, largo), agenda) == ResultadoOperacion.FULL) {
+                    // Seguir dejaría una agenda a medias sin avisar (y la siguiente instantánea la haría oficial).
+                    throw new IOException(String.format(MSG_AGENDA_LLENA, agenda.getCapacidadMaxima(), archivo, registros + 1));
+                }
+                finValido += LARGO_CABECERA_REGISTRO + largo;
+                registros++;
+            }
+            return new Reproduccion(registros, finValido);
+        } catch (EOFException ex) {
+            throw new IOException(MSG_NO_ES_DIARIO + archivo, ex); // ni siquiera tiene cabecera
+        }
+    }
+
+    record Reproduccion(long registros, long finValido) {
+        static final Reproduccion VACIA = new Reproduccion(0, 0);
+    }
+
+    // -------------------------
+    // 4) API pública
+    // -------------------------
+
+    /**
+     * Registra las operaciones con resultado OK; el resto (duplicados, no encontrados...) no cambian la agenda.
+     */
+    @Override
+    public void recibir(EventoAgenda evento) {
+        if (!evento.resultado().esExito()) {
+            return;
+        }
+
+        long registro;
+        boolean tocaSincronizar;
+        lockBuffer.lock();
+        try {
+            if (evento.operacion() == EventoAgenda.Operacion.ALTA) {
+                escribirAlta(evento.contacto());
+            } else {
+                escribirBaja(evento.id());
+            }
+            registro = ++registrosAnadidos;
+            tocaSincronizar = ++opsPendientes >= opsPorFsync || buffer.position() >= TAMANIO_BUFFER;
+        } finally {
+            lockBuffer.unlock();
+        }
+
+        if (tocaSincronizar) {
+            try {
+                sincronizarHasta(registro);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("No se pudo escribir en el diario de la agenda.", ex);
+            }
+        }
+    }
+
+    /**
+     * Escribe lo pendiente y hace fsync (el timer lo llama solo; también se puede forzar a mano).
+     */
+    public void sincronizar() throws IOException {
+        sincronizarHasta(registrosAnadidosAhora());
+    }
+
+    /**
+     * Escribe la instantánea de la agenda y deja el diario vacío (solo cabecera): lo que había en el diario
+     * ya está en la instantánea (se aplicó a la agenda antes de llegar aquí).
+     * La agenda sigue aceptando altas/bajas mientras tanto; solo su recibir espera al lock del buffer, así que
+     * una operación que la instantánea no llegó a ver se añade al diario ya vacío. Una que sí vio pero aún no
+     * estaba en el diario acaba en ambos; al reproducir sale DUPLICATE / NOT_FOUND y no cambia nada.
+     * La instantánea es duradera (archivo y directorio con fsync) antes de truncar el diario.
+     */
+    public void escribirInstantanea(Agenda agenda, Path archivo) throws IOException {
+        lockArchivo.lock();
+        lockBuffer.lock();
+        try {
+            InstantaneaAgenda.escribir(agenda, archivo);
+
+            buffer.clear();
+            repuesto.clear();
+            canal.truncate(LARGO_CABECERA);
+            canal.position(LARGO_CABECERA);
+            canal.force(true);
+            opsPendientes = 0;
+            registrosSincronizados = registrosAnadidos;
+        } finally {
+            lockBuffer.unlock();
+            lockArchivo.unlock();
+        }
+    }
+
+    public long getRegistrosReproducidos() {
+        return registrosReproducidos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (temporizador != null) {
+            temporizador.shutdownNow();
+        }
+        lockArchivo.lock();
+        try {
+            if (canal.isOpen()) {
+                sincronizar();
+                canal.close();
+            }
+        } finally {
+            lockArchivo.unlock();
+        }
+    }
+
+    // -------------------------
+    // 5) Helpers (escritura)
+    // -------------------------
+
+    /**
+     * Group commit: si otro hilo ya sincronizó hasta "registro", no hace nada. Si no, intercambia el buffer
+     * por el vacío (lock corto) y escribe + fsync sin bloquear a los que siguen añadiendo registros.
+     */
+    private void sincronizarHasta(long registro) throws IOException {
+        lockArchivo.lock();
+        try {
+            if (registrosSincronizados >= registro) return;
+
+            escribirEnCanal(repuesto); // restos de una escritura fallida (normalmente vacío)
+            long hasta;
+            lockBuffer.lock();
+            try {
+                ByteBuffer lleno = buffer;
+                buffer = repuesto;
+                repuesto = lleno;
+                hasta = registrosAnadidos;
+                opsPendientes = 0;
+            } finally {
+                lockBuffer.unlock();
+            }
+
+            escribirEnCanal(repuesto);
+            canal.force(false);
+            registrosSincronizados = hasta;
+        } finally {
+            lockArchivo.unlock();
+        }
+    }
+
+    private void escribirAlta(Contacto contacto) {
+        byte[] nombre = contacto.getNombre().getBytes(StandardCharsets.UTF_8);
+        byte[] apellido = contacto.getApellido().getBytes(StandardCharsets.UTF_8);
+        byte[] telefono = contacto.getTelefono().getBytes(StandardCharsets.UTF_8);
+
+        int largo = 1 + 8 + (4 + nombre.length) + (4 + apellido.length) + (4 + telefono.length);
+        int inicioPayload = empezarRegistro(largo);
+
+        buffer.put(TIPO_ALTA).putLong(contacto.getId());
+        buffer.putInt(nombre.length).put(nombre);
+        buffer.putInt(apellido.length).put(apellido);
+        buffer.putInt(telefono.length).put(telefono);
+
+        terminarRegistro(inicioPayload, largo);
+    }
+
+    private void escribirBaja(long id) {
+        int largo = 1 + 8;
+        int inicioPayload = empezarRegistro(largo);
+        buffer.put(TIPO_BAJA).putLong(id);
+        terminarRegistro(inicioPayload, largo);
+    }
+
+    /**
+     * Deja hueco para la cabecera del registro; el CRC se rellena en terminarRegistro.
+     * Si no cabe, el buffer crece (se vacía en el siguiente group commit, fuera de este lock).
+     */
+    private int empezarRegistro(int largoPayload) {
+        int necesario = LARGO_CABECERA_REGISTRO + largoPayload;
+        if (buffer.remaining() < necesario) {
+            ByteBuffer mayor = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + necesario));
+            buffer = mayor.put(buffer.flip());
+        }
+        buffer.putInt(largoPayload).putInt(0);
+        return buffer.position();
+    }
+
+    private void terminarRegistro(int inicioPayload, int largoPayload) {
+        crc.reset();
+        crc.update(buffer.array(), inicioPayload, largoPayload);
+        buffer.putInt(inicioPayload - 4, (int) crc.getValue());
+    }
+
+    /**
+     * Escribe el contenido del buffer y lo deja vacío. Si falla, conserva lo que no llegó a escribirse.
+     */
+    private void escribirEnCanal(ByteBuffer datos) throws IOException {
+        datos.flip();
+        try {
+            while (datos.hasRemaining()) {
+                canal.write(datos);
+            }
+        } finally {
+            datos.compact();
+        }
+    }
+
+    private static void escribirCabecera(FileChannel canal) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(LARGO_CABECERA).putInt(MAGIA).putInt(VERSION).flip();
+        while (cabecera.hasRemaining()) {
+            canal.write(cabecera);
+        }
+    }
+
+    private ScheduledExecutorService crearTemporizador(long msPorFsync) {
+        ScheduledExecutorService servicio = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name(NOMBRE_HILO).factory());
+        servicio.scheduleAtFixedRate(this::sincronizarSiHayPendientes, msPorFsync, msPorFsync, TimeUnit.MILLISECONDS);
+        return servicio;
+    }
+
+    private void sincronizarSiHayPendientes() {
+        if (registrosSincronizados == registrosAnadidosAhora() || !canal.isOpen()) {
+            return;
+        }
+        try {
+            sincronizar();
+        } catch (IOException ex) {
+            // El timer no tiene a quién avisar: se informa y se reintenta en el próximo tick.
+            System.err.println("Error sincronizando el diario de la agenda: " + ex.getMessage());
+        }
+    }
+
+    private long registrosAnadidosAhora() {
+        lockBuffer.lock();
+        try {
+            return registrosAnadidos;
+        } finally {
+            lockBuffer.unlock();
+        }
+    }
+
+    // -------------------------
+    // 6) Helpers (reproducción)
+    // -------------------------
+
+    private static ResultadoOperacion aplicar(ByteBuffer payload, Agenda agenda) {
+        byte tipo = payload.get();
+        long id = payload.getLong();
+
+        if (tipo == TIPO_BAJA) {
+            return agenda.eliminarContactoPorId(id);
+        }
+
+        String nombre = leerCampo(payload);
+        String apellido = leerCampo(payload);
+        String telefono = leerCampo(payload);
+
+        Contacto.asegurarIdsMayoresQue(id);
+        return agenda.anadirContacto(new Contacto(id, nombre, apellido, telefono));
+    }
+
+    private static String leerCampo(ByteBuffer payload) {
+        int largo = payload.getInt();
+        String valor = new String(payload.array(), payload.arrayOffset() + payload.position(), largo, StandardCharsets.UTF_8);
+        payload.position(payload.position() + largo);
+        return valor;
+    }
+}
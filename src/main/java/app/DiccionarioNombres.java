@@ -0,0 +1,46 @@
+package app;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Diccionario compartido (thread-safe) de nombres y apellidos.
+ *
+ * En una agenda real "María" o "García" se repiten miles de veces; sin esto cada Contacto guarda su propia
+ * copia (String + byte[]: ~24 + 16 + largo bytes por campo). Todo Contacto pasa sus nombres por aquí,
+ * así que nombres iguales acaban siendo la misma instancia y las copias de la entrada las recoge el GC.
+ *
+ * - Lectura sin bloqueo (ConcurrentHashMap.get); solo el primer uso de un nombre escribe.
+ * - Acotado: con más de MAX_ENTRADAS nombres distintos deja de añadir (los nuevos se guardan tal cual),
+ *   para que datos sin repeticiones no hagan crecer el diccionario sin límite.
+ * - Las entradas no se borran al eliminar contactos (un nombre frecuente se volverá a usar).
+ * - Se puede desactivar con -Dagenda.nombres.compartir=false (p.ej. para medir la diferencia).
+ */
+final class DiccionarioNombres {
+
+    static final boolean ACTIVO = Boolean.parseBoolean(System.getProperty("agenda.nombres.compartir", "true"));
+    static final int MAX_ENTRADAS = Integer.getInteger("agenda.nombres.maxEntradas", 1 << 20);
+
+    private static final ConcurrentHashMap<String, String> NOMBRES = new ConcurrentHashMap<>();
+
+    private DiccionarioNombres() {
+    }
+
+    /**
+     * @return La instancia compartida igual a "nombre" (o el propio "nombre" si es el primero / no cabe).
+     */
+    static String compartir(String nombre) {
+        if (!ACTIVO) return nombre;
+
+        String existente = NOMBRES.get(nombre);
+        if (existente != null) return existente;
+        if (NOMBRES.size() >= MAX_ENTRADAS) return nombre;
+
+        existente = NOMBRES.putIfAbsent(nombre, nombre);
+        return existente != null ? existente : nombre;
+    }
+
+    static int tamanio() {
+        return NOMBRES.size();
+    }
+}
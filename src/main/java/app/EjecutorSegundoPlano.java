@@ -0,0 +1,181 @@
+package app;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Capa común (Swing y JavaFX) para ejecutar operaciones de Agenda fuera del hilo de la UI.
+ *
+ * - Cada trabajo corre en su propio hilo virtual: el EDT / hilo de JavaFX nunca se bloquea.
+ * - Resultado, progreso y errores vuelven al hilo de la UI con el Executor que se pasa al crearla
+ *   (SwingUtilities::invokeLater o Platform::runLater).
+ * - Progreso: como mucho una actualización pendiente a la vez; si el trabajo informa más rápido de lo que
+ *   la UI pinta, solo se muestra el último valor.
+ * - Cancelar: interrumpe el hilo y marca la tarea; el trabajo debe consultar progreso.cancelado() en sus bucles.
+ *   Una tarea cancelada no entrega resultado.
+ *
+ * Como los trabajos pueden solaparse, la Agenda que usan debe ser thread-safe (Agenda.concurrente).
+ */
+final class EjecutorSegundoPlano implements AutoCloseable {
+
+    /**
+     * Trabajo a ejecutar en segundo plano.
+     */
+    @FunctionalInterface
+    interface Trabajo<T> {
+        T ejecutar(Progreso progreso) throws Exception;
+    }
+
+    /**
+     * Lo que el trabajo ve de su tarea.
+     */
+    interface Progreso {
+
+        void informar(long hecho, long total);
+
+        boolean cancelado();
+
+        /**
+         * @throws CancellationException si la tarea fue cancelada (para cortar bucles largos).
+         */
+        default void comprobarCancelacion() {
+            if (cancelado()) throw new CancellationException();
+        }
+    }
+
+    /**
+     * Lo que la UI ve de una tarea en curso.
+     */
+    interface Tarea {
+
+        void cancelar();
+
+        boolean terminada();
+    }
+
+    // -------------------------
+    // Estado
+    // -------------------------
+
+    private final ExecutorService hilos = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("agenda-ui-", 0).factory());
+    private final Executor hiloUI;
+    private final Consumer<Throwable> alFallar;
+
+    /**
+     * @param hiloUI   Cómo ejecutar código en el hilo de la UI.
+     * @param alFallar Qué hacer (en el hilo de la UI) si un trabajo falla, también con un Error
+     *                 (p.ej. OutOfMemoryError en una importación grande): la UI debe poder cerrar la tarea.
+     */
+    EjecutorSegundoPlano(Executor hiloUI, Consumer<Throwable> alFallar) {
+        this.hiloUI = hiloUI;
+        this.alFallar = alFallar;
+    }
+
+    // -------------------------
+    // API
+    // -------------------------
+
+    /**
+     * Ejecuta un trabajo corto (sin barra de progreso) y entrega el resultado en el hilo de la UI.
+     */
+    <T> Tarea ejecutar(Trabajo<T> trabajo, Consumer<? super T> alTerminar) {
+        return ejecutarConProgreso(trabajo, fraccion -> {
+        }, alTerminar);
+    }
+
+    /**
+     * Ejecuta un trabajo largo. alProgresar recibe la fracción completada (0..1) en el hilo de la UI.
+     */
+    <T> Tarea ejecutarConProgreso(Trabajo<T> trabajo, DoubleConsumer alProgresar, Consumer<? super T> alTerminar) {
+        TareaEnCurso<T> tarea = new TareaEnCurso<>(trabajo, alProgresar, alTerminar);
+        tarea.futuro = hilos.submit(tarea::correr);
+        return tarea;
+    }
+
+    @Override
+    public void close() {
+        hilos.shutdownNow();
+    }
+
+    // -------------------------
+    // Implementación
+    // -------------------------
+
+    private final class TareaEnCurso<T> implements Tarea, Progreso {
+
+        private final Trabajo<T> trabajo;
+        private final DoubleConsumer alProgresar;
+        private final Consumer<? super T> alTerminar;
+
+        private final AtomicBoolean progresoPendiente = new AtomicBoolean();
+        private volatile double fraccion;
+        private volatile boolean cancelada;
+        private volatile boolean terminada;
+        private volatile Future<?> futuro;
+
+        TareaEnCurso(Trabajo<T> trabajo, DoubleConsumer alProgresar, Consumer<? super T> alTerminar) {
+            this.trabajo = trabajo;
+            this.alProgresar = alProgresar;
+            this.alTerminar = alTerminar;
+        }
+
+        void correr() {
+            Runnable entrega = null;
+            try {
+                T resultado = trabajo.ejecutar(this);
+                entrega = () -> alTerminar.accept(resultado);
+            } catch (CancellationException | InterruptedException ex) {
+                entrega = null; // cancelada: no se entrega nada
+            } catch (Throwable ex) {
+                // Al interrumpir, la E/S puede fallar con otra excepción (p.ej. ClosedByInterruptException).
+                // Los Error también se entregan: si no, la UI dejaría la barra y "Cancelar" activas para siempre.
+                entrega = cancelada ? null : () -> alFallar.accept(ex);
+            } finally {
+                terminada = true; // antes de entregar: en el hilo de la UI la tarea ya se ve terminada
+                if (entrega != null) entregar(entrega);
+            }
+        }
+
+        @Override
+        public void informar(long hecho, long total) {
+            fraccion = total <= 0 ? 0 : Math.min(1.0, (double) hecho / total);
+            if (progresoPendiente.compareAndSet(false, true)) {
+                hiloUI.execute(() -> {
+                    progresoPendiente.set(false);
+                    if (!cancelada) alProgresar.accept(fraccion);
+                });
+            }
+        }
+
+        @Override
+        public boolean cancelado() {
+            return cancelada || Thread.currentThread().isInterrupted();
+        }
+
+        @Override
+        public void cancelar() {
+            cancelada = true;
+            Future<?> f = futuro;
+            if (f != null) f.cancel(true);
+        }
+
+        @Override
+        public boolean terminada() {
+            return terminada;
+        }
+
+        private void entregar(Runnable accion) {
+            hiloUI.execute(() -> {
+                if (!cancelada) accion.run();
+            });
+        }
+    }
+}
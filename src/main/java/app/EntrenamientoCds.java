@@ -0,0 +1,72 @@
+package app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Ejecución de entrenamiento para el archivo AppCDS (perfil "cds" del pom): Main --entrenar-cds.
+ *
+ * Con -XX:+AutoCreateSharedArchive, la JVM archiva al salir las clases que cargó la primera ejecución.
+ * Esta hace un poco de todo lo que no tiene UI (modo por lotes, servidor HTTP con una petición, servidor binario
+ * con una consulta) para que el archivo sirva a todos esos modos, no solo al primero que se use.
+ * Las clases de entrada de los modos (p.ej. AppConsola) se cargan sin ejecutarlas: basta para archivarlas.
+ */
+final class EntrenamientoCds {
+
+    private static final String COMANDOS = """
+            add Ana López 5512345678
+            add José Peña
+            find ana lopez
+            list
+            list apellido 0 10
+            del 1
+            """;
+
+    // Un literal de clase la carga sin inicializarla (y sin abrir su menú).
+    private static final Class<?>[] CLASES_DE_MODOS = {AppConsola.class, ServidorAgenda.class, ServidorBinario.class};
+
+    private EntrenamientoCds() {
+    }
+
+    static void main(String[] args) throws IOException {
+        long inicio = System.nanoTime();
+        System.out.printf("Entrenamiento CDS: %d clases de modos cargadas.%n", CLASES_DE_MODOS.length);
+
+        ConsolaPorLotes.ejecutar(new BufferedReader(new StringReader(COMANDOS)), Writer.nullWriter(), new Agenda());
+
+        Agenda agenda = Agenda.concurrente(Integer.MAX_VALUE);
+        try (ServidorAgenda http = ServidorAgenda.iniciar(agenda, 0)) {
+            pedirHttp(http.getPuerto(), "POST /contactos?nombre=Ana&apellido=Lopez");
+            pedirHttp(http.getPuerto(), "GET /contactos?orden=apellido&offset=0&limite=10");
+        }
+        try (ServidorBinario binario = ServidorBinario.iniciar(agenda, 0);
+             ClienteBinario cliente = ClienteBinario.conectar("localhost", binario.getPuerto())) {
+            cliente.obtenerPorNombres(new String[]{"Ana"}, new String[]{"Lopez"});
+            cliente.obtenerPorIds(1);
+            cliente.contactos();
+        }
+
+        System.out.printf("Entrenamiento CDS terminado en %d ms.%n", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Petición HTTP/1.0 mínima con un Socket (sin cargar el cliente HTTP del JDK, que los modos reales no usan).
+     */
+    private static void pedirHttp(int puerto, String lineaPeticion) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), puerto)) {
+            OutputStream salida = socket.getOutputStream();
+            salida.write((lineaPeticion + " HTTP/1.0\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            salida.flush();
+            InputStream entrada = socket.getInputStream();
+            entrada.readAllBytes();
+        }
+    }
+}
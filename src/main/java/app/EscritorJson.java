@@ -0,0 +1,239 @@
+package app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Escritor JSON en streaming, hecho a mano (sin librerías): codifica UTF-8 directamente en un buffer de bytes.
+ *
+ * - Nada de StringBuilder ni String intermedios: los textos se escapan y codifican carácter a carácter,
+ *   y los números se escriben dígito a dígito.
+ * - Las comas las pone el escritor: basta con llamar a campo()/valor() en orden.
+ * - Si toda la respuesta cabe en el buffer, se envía de una vez con su largo conocido (Content-Length);
+ *   si no, se abre la salida sin largo (chunked) al llenarse el buffer y se va vaciando por tandas.
+ *
+ * No es thread-safe: un escritor por respuesta.
+ */
+final class EscritorJson {
+
+    /**
+     * Dónde acaba el JSON. Se abre una sola vez, cuando ya se sabe si el largo es conocido.
+     */
+    @FunctionalInterface
+    interface Destino {
+
+        /**
+         * @param largo Bytes totales de la respuesta, o 0 si no se conocen (se enviará por tandas).
+         */
+        OutputStream abrir(long largo) throws IOException;
+    }
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    static final int TAMANIO_BUFFER = 8 * 1024;
+
+    // Lo máximo que ocupa un carácter escapado ("\\u001f" = 6 bytes) o un long con signo (20 bytes).
+    private static final int MAX_BYTES_POR_ESCRITURA = 20;
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final Destino destino;
+    private final byte[] buffer = new byte[TAMANIO_BUFFER];
+    private int posicion;
+    private OutputStream salida; // null mientras todo quepa en el buffer
+
+    // true si lo siguiente (campo o valor) debe ir precedido de una coma.
+    private boolean necesitaComa;
+
+    EscritorJson(Destino destino) {
+        this.destino = destino;
+    }
+
+    // -------------------------
+    // 3) API
+    // -------------------------
+
+    EscritorJson abrirObjeto() throws IOException {
+        separar();
+        escribirByte('{');
+        return this;
+    }
+
+    EscritorJson cerrarObjeto() throws IOException {
+        escribirByte('}');
+        necesitaComa = true;
+        return this;
+    }
+
+    EscritorJson abrirLista() throws IOException {
+        separar();
+        escribirByte('[');
+        return this;
+    }
+
+    EscritorJson cerrarLista() throws IOException {
+        escribirByte(']');
+        necesitaComa = true;
+        return this;
+    }
+
+    /**
+     * Nombre de un campo; lo siguiente debe ser su valor.
+     */
+    EscritorJson campo(String nombre) throws IOException {
+        separar();
+        escribirTexto(nombre);
+        escribirByte(':');
+        return this;
+    }
+
+    EscritorJson valor(String texto) throws IOException {
+        separar();
+        if (texto == null) {
+            escribirBytes(NULL);
+        } else {
+            escribirTexto(texto);
+        }
+        necesitaComa = true;
+        return this;
+    }
+
+    EscritorJson valor(long numero) throws IOException {
+        separar();
+        asegurarEspacio(MAX_BYTES_POR_ESCRITURA);
+        if (numero == Long.MIN_VALUE) { // -numero no cabe en un long
+            escribirBytes(Long.toString(numero).getBytes(StandardCharsets.US_ASCII));
+        } else {
+            if (numero < 0) {
+                buffer[posicion++] = '-';
+                numero = -numero;
+            }
+            // Dígitos de derecha a izquierda, directamente en su sitio.
+            int digitos = 1;
+            for (long resto = numero / 10; resto > 0; resto /= 10) digitos++;
+            int fin = posicion + digitos;
+            for (int i = fin - 1; i >= posicion; i--) {
+                buffer[i] = (byte) ('0' + numero % 10);
+                numero /= 10;
+            }
+            posicion = fin;
+        }
+        necesitaComa = true;
+        return this;
+    }
+
+    EscritorJson valor(boolean booleano) throws IOException {
+        separar();
+        escribirBytes(booleano ? TRUE : FALSE);
+        necesitaComa = true;
+        return this;
+    }
+
+    /**
+     * Envía lo que quede y cierra la salida. El escritor no se puede volver a usar.
+     */
+    void terminar() throws IOException {
+        if (salida == null) {
+            salida = destino.abrir(posicion);
+        }
+        salida.write(buffer, 0, posicion);
+        posicion = 0;
+        salida.close();
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private void separar() throws IOException {
+        if (necesitaComa) {
+            escribirByte(',');
+            necesitaComa = false;
+        }
+    }
+
+    /**
+     * Texto entre comillas, escapado según RFC 8259 y codificado en UTF-8.
+     */
+    private void escribirTexto(String texto) throws IOException {
+        escribirByte('"');
+        int largo = texto.length();
+        for (int i = 0; i < largo; i++) {
+            asegurarEspacio(MAX_BYTES_POR_ESCRITURA);
+            char c = texto.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer[posicion++] = (byte) c;
+            } else if (c < 0x80) {
+                escaparAscii(c);
+            } else if (c < 0x800) {
+                buffer[posicion++] = (byte) (0xC0 | (c >> 6));
+                buffer[posicion++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < largo && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, texto.charAt(++i));
+                buffer[posicion++] = (byte) (0xF0 | (cp >> 18));
+                buffer[posicion++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[posicion++] = '?'; // suplente suelto: no es UTF-8 válido
+            } else {
+                buffer[posicion++] = (byte) (0xE0 | (c >> 12));
+                buffer[posicion++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[posicion++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        escribirByte('"');
+    }
+
+    private void escaparAscii(char c) {
+        buffer[posicion++] = '\\';
+        switch (c) {
+            case '"' -> buffer[posicion++] = '"';
+            case '\\' -> buffer[posicion++] = '\\';
+            case '\n' -> buffer[posicion++] = 'n';
+            case '\r' -> buffer[posicion++] = 'r';
+            case '\t' -> buffer[posicion++] = 't';
+            default -> {
+                buffer[posicion++] = 'u';
+                buffer[posicion++] = '0';
+                buffer[posicion++] = '0';
+                buffer[posicion++] = HEX[c >> 4];
+                buffer[posicion++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void escribirByte(char c) throws IOException {
+        asegurarEspacio(1);
+        buffer[posicion++] = (byte) c;
+    }
+
+    private void escribirBytes(byte[] bytes) throws IOException {
+        asegurarEspacio(bytes.length);
+        System.arraycopy(bytes, 0, buffer, posicion, bytes.length);
+        posicion += bytes.length;
+    }
+
+    /**
+     * Si no caben "bytes" más, vacía el buffer (abriendo la salida por tandas la primera vez).
+     */
+    private void asegurarEspacio(int bytes) throws IOException {
+        if (posicion + bytes <= buffer.length) return;
+        if (salida == null) {
+            salida = destino.abrir(0);
+        }
+        salida.write(buffer, 0, posicion);
+        posicion = 0;
+    }
+}
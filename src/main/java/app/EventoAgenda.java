@@ -0,0 +1,33 @@
+package app;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Evento que publica la Agenda tras cada intento de añadir o eliminar.
+ *
+ * @param operacion Qué se intentó (ALTA / BAJA).
+ * @param resultado Cómo terminó.
+ * @param id        ID afectado (-1 si el contacto era null).
+ * @param contacto  Contacto añadido / eliminado (null si no aplica: contacto nulo o ID inexistente).
+ */
+public record EventoAgenda(Operacion operacion, ResultadoOperacion resultado, long id, Contacto contacto) {
+
+    public enum Operacion {
+        ALTA("Contacto añadido correctamente."),
+        BAJA("Contacto eliminado correctamente.");
+
+        private final String mensajeExito;
+
+        Operacion(String mensajeExito) {
+            this.mensajeExito = mensajeExito;
+        }
+    }
+
+    static final long SIN_ID = -1L;
+
+    /**
+     * Mismo texto que antes imprimía Agenda por consola.
+     */
+    public String mensaje() {
+        return resultado.esExito() ? operacion.mensajeExito : resultado.getMensajeError();
+    }
+}
@@ -0,0 +1,19 @@
+package app;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Fuente de IDs de Contacto (enchufable con Contacto.usarGeneradorIds).
+ *
+ * Contrato:
+ * - siguiente() nunca repite un ID (tampoco entre hilos) y siempre devuelve IDs > 0.
+ * - siguienteLibre() es el estado a persistir: ningún ID entregado (ni reservado) es >= ese valor.
+ * - asegurarMayoresQue(id) restaura ese estado: a partir de ahí no se entregan IDs <= id.
+ */
+public interface GeneradorIds {
+
+    long siguiente();
+
+    long siguienteLibre();
+
+    void asegurarMayoresQue(long idExistente);
+}
@@ -0,0 +1,138 @@
+package app;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Generador de IDs "hi/lo": cada hilo reserva un bloque de IDs con una sola operación atómica
+ * y luego los entrega sin tocar memoria compartida.
+ *
+ * - Sin contención: el contador global se toca una vez cada "tamanioBloque" IDs por hilo,
+ *   así que crear contactos escala con el número de hilos.
+ * - IDs de 64 bits: no hay desbordamiento práctico.
+ * - Con un solo hilo los IDs salen consecutivos (1, 2, 3...); con varios, cada hilo avanza en su bloque
+ *   (únicos, pero no consecutivos entre hilos). Los IDs que queden sin usar en un bloque se pierden.
+ * - Hilos virtuales (p.ej. uno por petición en ServidorAgenda): viven una sola tarea, así que un bloque
+ *   por hilo desperdiciaría casi todos sus IDs. Comparten FRANJAS bloques (elegidos por el ID del hilo):
+ *   cada ID es un getAndIncrement sobre el contador de su franja, y el contador global solo se toca
+ *   al agotarse un bloque. Así los hilos virtuales no se pelean todos por la misma línea de caché.
+ */
+public final class GeneradorIdsPorBloques implements GeneradorIds {
+
+    public static final int TAMANIO_BLOQUE_POR_DEFECTO = 1024;
+
+    private static final long PRIMER_ID = 1;
+
+    // Potencia de 2, unas cuantas por núcleo: dos hilos virtuales a la vez rara vez caen en la misma.
+    private static final int FRANJAS = Math.min(64, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1);
+
+    private final int tamanioBloque;
+
+    // Siguiente ID sin reservar (marca de agua: lo que se persiste).
+    private final AtomicLong siguienteSinReservar = new AtomicLong(PRIMER_ID);
+
+    // IDs <= minimoExcluido ya existen (restaurados): un bloque viejo por debajo no se puede seguir usando.
+    private final AtomicLong minimoExcluido = new AtomicLong(PRIMER_ID - 1);
+
+    private final ThreadLocal<Bloque> bloques = ThreadLocal.withInitial(Bloque::new);
+
+    // Bloques de los hilos virtuales; un bloque agotado se sustituye con compareAndSet.
+    private final AtomicReferenceArray<BloqueCompartido> compartidos = new AtomicReferenceArray<>(FRANJAS);
+
+    public GeneradorIdsPorBloques() {
+        this(TAMANIO_BLOQUE_POR_DEFECTO);
+    }
+
+    public GeneradorIdsPorBloques(int tamanioBloque) {
+        if (tamanioBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser > 0.");
+        }
+        this.tamanioBloque = tamanioBloque;
+    }
+
+    @Override
+    public long siguiente() {
+        if (Thread.currentThread().isVirtual()) {
+            return siguienteCompartido();
+        }
+
+        Bloque bloque = bloques.get();
+        if (bloque.siguiente >= bloque.fin || bloque.siguiente <= minimoExcluido.get()) {
+            reservar(bloque);
+        }
+        return bloque.siguiente++;
+    }
+
+    @Override
+    public long siguienteLibre() {
+        return siguienteSinReservar.get();
+    }
+
+    @Override
+    public void asegurarMayoresQue(long idExistente) {
+        // Primero el contador (los bloques nuevos ya salen por encima), luego el mínimo (invalida los viejos).
+        siguienteSinReservar.accumulateAndGet(idExistente + 1, Math::max);
+        minimoExcluido.accumulateAndGet(idExistente, Math::max);
+    }
+
+    private long siguienteCompartido() {
+        long hilo = Thread.currentThread().threadId();
+        int franja = Long.hashCode(hilo * 0x9E3779B97F4A7C15L) & (FRANJAS - 1); // IDs de hilo seguidos: repartir
+
+        while (true) {
+            BloqueCompartido bloque = compartidos.get(franja);
+            if (bloque != null) {
+                long id = bloque.siguiente.getAndIncrement();
+                if (id < bloque.fin && id > minimoExcluido.get()) return id;
+            }
+
+            // Agotado (o por debajo de un ID restaurado): uno nuevo. Si otro hilo lo cambió antes, se usa el suyo
+            // y los IDs del que se reservó aquí se pierden, como los que sobran de cualquier bloque.
+            long inicio = reservarInicio();
+            BloqueCompartido nuevo = new BloqueCompartido(
+                    Math.max(inicio, minimoExcluido.get() + 1), inicio + tamanioBloque);
+            compartidos.compareAndSet(franja, bloque, nuevo);
+        }
+    }
+
+    private void reservar(Bloque bloque) {
+        long inicio = reservarInicio();
+        bloque.siguiente = Math.max(inicio, minimoExcluido.get() + 1);
+        bloque.fin = inicio + tamanioBloque;
+    }
+
+    /**
+     * @return Primer ID de un bloque recién reservado del contador global que no está entero ya ocupado.
+     */
+    private long reservarInicio() {
+        long inicio;
+        do {
+            inicio = siguienteSinReservar.getAndAdd(tamanioBloque);
+        } while (inicio + tamanioBloque - 1 <= minimoExcluido.get()); // bloque entero ya ocupado: otro
+        return inicio;
+    }
+
+    /**
+     * Rango [siguiente, fin) reservado por un hilo. Solo lo toca su hilo.
+     */
+    private static final class Bloque {
+        long siguiente;
+        long fin;
+    }
+
+    /**
+     * Rango [siguiente, fin) compartido por los hilos virtuales de una franja. "siguiente" puede pasarse de
+     * "fin" (cada hilo que llega tarde suma uno): ese hilo ve el bloque agotado y lo sustituye.
+     */
+    private static final class BloqueCompartido {
+        final AtomicLong siguiente;
+        final long fin;
+
+        BloqueCompartido(long siguiente, long fin) {
+            this.siguiente = new AtomicLong(siguiente);
+            this.fin = fin;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package app;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Índice ordenado (por apellido, nombre, ID o teléfono) para listar páginas sin ordenar en cada llamada.
+ *
+ * - Árbol B+ "con conteos": cada nodo sabe cuántos contactos hay debajo, así que saltar hasta la posición
+ *   "offset" es bajar por el árbol (O(log n)) y la página se lee hoja a hoja: O(log n + limite).
+ * - Hojas y nodos de hasta 64 elementos en arrays: ~5 bytes por contacto (un árbol de nodos sueltos
+ *   pesaría ~40), importante con millones de contactos.
+ * - Orden alfabético con Collator español. Las CollationKey se cachean por texto (no por contacto):
+ *   como los nombres se repiten mucho, casi todas las comparaciones son búsquedas en el caché.
+ * - Las bajas no fusionan nodos (solo se quitan los que se quedan vacíos): sigue siendo correcto,
+ *   aunque tras muchas bajas el árbol quede menos compacto.
+ *
+ * Thread-safe: páginas con read lock, altas/bajas con write lock (StampedLock).
+ */
+final class IndiceOrden implements IndiceSecundario {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int MAX_ELEMENTOS = 64; // por hoja, e hijos por nodo interno
+    private static final int LLENADO_CARGA = 48; // al construir de golpe: hueco para altas sin partir enseguida
+
+    private static final Collator COLLATOR = Collator.getInstance(Locale.forLanguageTag("es"));
+
+    // Texto -> CollationKey. Compartido por todas las agendas; acotado como DiccionarioNombres.
+    private static final ConcurrentHashMap<String, CollationKey> CLAVES = new ConcurrentHashMap<>();
+
+    /**
+     * Hoja (contactos) o nodo interno (hijos). "tamanio" = contactos en el subárbol.
+     */
+    private abstract static class Nodo {
+        int tamanio;
+    }
+
+    private static final class Hoja extends Nodo {
+        final Contacto[] contactos = new Contacto[MAX_ELEMENTOS + 1]; // +1: desborde momentáneo antes de partir
+    }
+
+    private static final class Interno extends Nodo {
+        final Nodo[] hijos = new Nodo[MAX_ELEMENTOS + 1];
+        // minimos[i] (i >= 1): todo el hijo i es >= minimos[i] y todo el hijo i-1 es menor. minimos[0] no se usa.
+        final Contacto[] minimos = new Contacto[MAX_ELEMENTOS + 1];
+        int hijosUsados;
+    }
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final Comparator<Contacto> comparador;
+    private final StampedLock lock = new StampedLock();
+    private Nodo raiz = new Hoja();
+
+    IndiceOrden(OrdenContactos orden) {
+        this.comparador = comparadorDe(orden);
+    }
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    @Override
+    public void agregar(Contacto contacto) {
+        long stamp = lock.writeLock();
+        try {
+            insertarConRaiz(contacto);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void quitar(Contacto contacto) {
+        long stamp = lock.writeLock();
+        try {
+            if (!eliminar(raiz, contacto)) return;
+
+            while (raiz instanceof Interno interno && interno.hijosUsados == 1) {
+                raiz = interno.hijos[0];
+            }
+            if (raiz instanceof Interno interno && interno.hijosUsados == 0) {
+                raiz = new Hoja();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Carga inicial: ordena una vez y construye el árbol de abajo arriba (sin partir nodos).
+     */
+    @Override
+    public void agregarTodos(List<Contacto> contactos) {
+        Contacto[] ordenados = contactos.toArray(new Contacto[0]);
+        Arrays.sort(ordenados, comparador);
+
+        long stamp = lock.writeLock();
+        try {
+            if (raiz.tamanio != 0) {
+                for (Contacto contacto : ordenados) {
+                    insertarConRaiz(contacto);
+                }
+                return;
+            }
+            raiz = construir(ordenados);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Contactos de las posiciones [offset, offset + limite) en este orden. O(log n + limite).
+     */
+    List<Contacto> pagina(int offset, int limite) {
+        long stamp = lock.readLock();
+        try {
+            if (offset >= raiz.tamanio) return List.of();
+
+            List<Contacto> resultado = new ArrayList<>(Math.min(limite, raiz.tamanio - offset));
+            recoger(raiz, offset, limite, resultado);
+            return resultado;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // -------------------------
+    // 4) Helpers (orden)
+    // -------------------------
+
+    private static Comparator<Contacto> comparadorDe(OrdenContactos orden) {
+        return switch (orden) {
+            case APELLIDO -> (a, b) -> {
+                int c = comparar(a.getApellido(), b.getApellido());
+                if (c == 0) c = comparar(a.getNombre(), b.getNombre());
+                return c != 0 ? c : Long.compare(a.getId(), b.getId());
+            };
+            case NOMBRE -> (a, b) -> {
+                int c = comparar(a.getNombre(), b.getNombre());
+                if (c == 0) c = comparar(a.getApellido(), b.getApellido());
+                return c != 0 ? c : Long.compare(a.getId(), b.getId());
+            };
+            case ID -> Comparator.comparingLong(Contacto::getId);
+            case TELEFONO -> (a, b) -> {
+                int c = IndiceTelefonos.compararDigitos(a.getTelefono(), b.getTelefono());
+                return c != 0 ? c : Long.compare(a.getId(), b.getId());
+            };
+        };
+    }
+
+    private static int comparar(String a, String b) {
+        if (a == b) return 0; // mismo String (DiccionarioNombres): ni siquiera hace falta la clave
+        return claveDe(a).compareTo(claveDe(b));
+    }
+
+    private static CollationKey claveDe(String texto) {
+        CollationKey clave = CLAVES.get(texto);
+        if (clave != null) return clave;
+
+        synchronized (COLLATOR) { // Collator no es thread-safe
+            clave = COLLATOR.getCollationKey(texto);
+        }
+        if (CLAVES.size() < DiccionarioNombres.MAX_ENTRADAS) {
+            CLAVES.putIfAbsent(texto, clave);
+        }
+        return clave;
+    }
+
+    // -------------------------
+    // 5) Helpers (árbol)
+    // -------------------------
+
+    private void insertarConRaiz(Contacto contacto) {
+        Nodo hermano = insertar(raiz, contacto);
+        if (hermano != null) {
+            Interno nuevaRaiz = new Interno();
+            anadirHijo(nuevaRaiz, raiz);
+            anadirHijo(nuevaRaiz, hermano);
+            raiz = nuevaRaiz;
+        }
+    }
+
+    /**
+     * @return El nuevo hermano derecho si el nodo se partió, o null.
+     */
+    private Nodo insertar(Nodo nodo, Contacto contacto) {
+        nodo.tamanio++;
+        if (nodo instanceof Hoja hoja) {
+            int i = posicionDeInsercion(hoja, contacto);
+            System.arraycopy(hoja.contactos, i, hoja.contactos, i + 1, hoja.tamanio - 1 - i);
+            hoja.contactos[i] = contacto;
+            return hoja.tamanio > MAX_ELEMENTOS ? partir(hoja) : null;
+        }
+
+        Interno interno = (Interno) nodo;
+        int i = hijoPara(interno, contacto);
+        Nodo hermano = insertar(interno.hijos[i], contacto);
+        if (hermano == null) return null;
+
+        int siguiente = i + 1;
+        int mover = interno.hijosUsados - siguiente;
+        System.arraycopy(interno.hijos, siguiente, interno.hijos, siguiente + 1, mover);
+        System.arraycopy(interno.minimos, siguiente, interno.minimos, siguiente + 1, mover);
+        interno.hijos[siguiente] = hermano;
+        interno.minimos[siguiente] = primero(hermano);
+        interno.hijosUsados++;
+        return interno.hijosUsados > MAX_ELEMENTOS ? partir(interno) : null;
+    }
+
+    /**
+     * @return true si el contacto estaba (y se quitó).
+     */
+    private boolean eliminar(Nodo nodo, Contacto contacto) {
+        if (nodo instanceof Hoja hoja) {
+            int i = posicionExacta(hoja, contacto);
+            if (i < 0) return false;
+
+            System.arraycopy(hoja.contactos, i + 1, hoja.contactos, i, hoja.tamanio - 1 - i);
+            hoja.contactos[--hoja.tamanio] = null;
+            return true;
+        }
+
+        Interno interno = (Interno) nodo;
+        int i = hijoPara(interno, contacto);
+        if (!eliminar(interno.hijos[i], contacto)) return false;
+
+        interno.tamanio--;
+        if (interno.hijos[i].tamanio == 0) {
+            int mover = interno.hijosUsados - 1 - i;
+            System.arraycopy(interno.hijos, i + 1, interno.hijos, i, mover);
+            System.arraycopy(interno.minimos, i + 1, interno.minimos, i, mover);
+            interno.hijosUsados--;
+            interno.hijos[interno.hijosUsados] = null;
+            interno.minimos[interno.hijosUsados] = null;
+        }
+        return true;
+    }
+
+    private static void recoger(Nodo nodo, int saltar, int limite, List<Contacto> resultado) {
+        if (nodo instanceof Hoja hoja) {
+            for (int i = saltar; i < hoja.tamanio && resultado.size() < limite; i++) {
+                resultado.add(hoja.contactos[i]);
+            }
+            return;
+        }
+
+        Interno interno = (Interno) nodo;
+        for (int i = 0; i < interno.hijosUsados && resultado.size() < limite; i++) {
+            Nodo hijo = interno.hijos[i];
+            if (saltar >= hijo.tamanio) {
+                saltar -= hijo.tamanio; // el hijo entero queda antes del offset: ni se visita
+                continue;
+            }
+            recoger(hijo, saltar, limite, resultado);
+            saltar = 0;
+        }
+    }
+
+    /**
+     * Último hijo cuyo mínimo es <= contacto (búsqueda binaria).
+     */
+    private int hijoPara(Interno interno, Contacto contacto) {
+        int resultado = 0;
+        int bajo = 1;
+        int alto = interno.hijosUsados - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (comparador.compare(interno.minimos[medio], contacto) <= 0) {
+                resultado = medio;
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return resultado;
+    }
+
+    private int posicionDeInsercion(Hoja hoja, Contacto contacto) {
+        int bajo = 0;
+        int alto = hoja.tamanio - 1; // el contacto nuevo aún no está en el array
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (comparador.compare(hoja.contactos[medio], contacto) < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private int posicionExacta(Hoja hoja, Contacto contacto) {
+        int bajo = 0;
+        int alto = hoja.tamanio - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int c = comparador.compare(hoja.contactos[medio], contacto);
+            if (c == 0) return medio;
+            if (c < 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static Hoja partir(Hoja hoja) {
+        Hoja derecha = new Hoja();
+        int mitad = hoja.tamanio / 2;
+        derecha.tamanio = hoja.tamanio - mitad;
+        System.arraycopy(hoja.contactos, mitad, derecha.contactos, 0, derecha.tamanio);
+        Arrays.fill(hoja.contactos, mitad, hoja.tamanio, null);
+        hoja.tamanio = mitad;
+        return derecha;
+    }
+
+    private static Interno partir(Interno interno) {
+        Interno derecha = new Interno();
+        int mitad = interno.hijosUsados / 2;
+        for (int i = mitad; i < interno.hijosUsados; i++) {
+            anadirHijo(derecha, interno.hijos[i]);
+            interno.hijos[i] = null;
+            interno.minimos[i] = null;
+        }
+        interno.hijosUsados = mitad;
+        interno.tamanio -= derecha.tamanio;
+        return derecha;
+    }
+
+    /**
+     * Añade "hijo" al final de "interno" (el hijo ya está ordenado después de los actuales).
+     */
+    private static void anadirHijo(Interno interno, Nodo hijo) {
+        int i = interno.hijosUsados++;
+        interno.hijos[i] = hijo;
+        interno.minimos[i] = i == 0 ? null : primero(hijo);
+        interno.tamanio += hijo.tamanio;
+    }
+
+    private static Contacto primero(Nodo nodo) {
+        while (nodo instanceof Interno interno) {
+            nodo = interno.hijos[0];
+        }
+        return ((Hoja) nodo).contactos[0];
+    }
+
+    private static Nodo construir(Contacto[] ordenados) {
+        if (ordenados.length == 0) return new Hoja();
+
+        List<Nodo> nivel = new ArrayList<>();
+        for (int desde = 0; desde < ordenados.length; desde += LLENADO_CARGA) {
+            Hoja hoja = new Hoja();
+            hoja.tamanio = Math.min(LLENADO_CARGA, ordenados.length - desde);
+            System.arraycopy(ordenados, desde, hoja.contactos, 0, hoja.tamanio);
+            nivel.add(hoja);
+        }
+
+        while (nivel.size() > 1) {
+            List<Nodo> superior = new ArrayList<>();
+            for (int desde = 0; desde < nivel.size(); desde += LLENADO_CARGA) {
+                Interno interno = new Interno();
+                for (int i = desde; i < Math.min(desde + LLENADO_CARGA, nivel.size()); i++) {
+                    anadirHijo(interno, nivel.get(i));
+                }
+                superior.add(interno);
+            }
+            nivel = superior;
+        }
+        return nivel.get(0);
+    }
+}
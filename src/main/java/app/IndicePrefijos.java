@@ -0,0 +1,75 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Índice ordenado para autocompletar ("as-you-type") por prefijo de nombre o de apellido.
+ *
+ * Guarda dos mapas ordenados (skip lists):
+ * - "nombre apellido" -> contacto   (encuentra "jua", "juan ga", ...)
+ * - "apellido nombre" -> contacto   (encuentra "garc", "garcía ju", ...)
+ * Un prefijo es un rango contiguo del mapa: O(log n) para llegar + O(k) para leer k resultados.
+ *
+ * Texto normalizado como las claves de la agenda (sin mayúsculas ni acentos: "jose" encuentra "José").
+ * Thread-safe (ConcurrentSkipListMap).
+ */
+final class IndicePrefijos implements IndiceSecundario {
+
+    // Después del texto va el ID: claves únicas aunque dos contactos compartan nombre.
+    private static final char SEPARADOR_ID = '\u0000';
+    private static final char FIN_RANGO = '\uFFFF';
+
+    private final NavigableMap<String, Contacto> porNombre = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Contacto> porApellido = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void agregar(Contacto contacto) {
+        porNombre.put(claveNombre(contacto), contacto);
+        porApellido.put(claveApellido(contacto), contacto);
+    }
+
+    @Override
+    public void quitar(Contacto contacto) {
+        porNombre.remove(claveNombre(contacto));
+        porApellido.remove(claveApellido(contacto));
+    }
+
+    /**
+     * Primero coincidencias por nombre y luego por apellido (sin repetir), en orden alfabético, hasta "limite".
+     */
+    List<Contacto> buscar(String prefijo, int limite) {
+        String normalizado = AlmacenContactos.normalizar(prefijo);
+        Map<Long, Contacto> resultado = new LinkedHashMap<>();
+
+        recoger(porNombre, normalizado, limite, resultado);
+        recoger(porApellido, normalizado, limite, resultado);
+
+        return new ArrayList<>(resultado.values());
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private static void recoger(NavigableMap<String, Contacto> mapa, String prefijo, int limite,
+                                Map<Long, Contacto> resultado) {
+        for (Contacto contacto : mapa.subMap(prefijo, true, prefijo + FIN_RANGO, false).values()) {
+            if (resultado.size() >= limite) return;
+            resultado.putIfAbsent(contacto.getId(), contacto);
+        }
+    }
+
+    private static String claveNombre(Contacto contacto) {
+        return contacto.getClaveBusqueda() + SEPARADOR_ID + contacto.getId();
+    }
+
+    private static String claveApellido(Contacto contacto) {
+        return AlmacenContactos.claveDe(contacto.getApellido(), contacto.getNombre()) + SEPARADOR_ID + contacto.getId();
+    }
+}
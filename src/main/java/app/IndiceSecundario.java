@@ -0,0 +1,29 @@
+package app;
+
+import java.util.List;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Índice opcional de la Agenda (prefijos, teléfono, ...), aparte del almacén.
+ *
+ * Agenda crea cada índice la primera vez que se usa (lo llena con los contactos actuales)
+ * y desde entonces le avisa de cada alta y baja correcta. Si nunca se usa, no cuesta nada.
+ * Deben ser thread-safe si la agenda es concurrente.
+ * Guardan los Contacto que reciben: en Agenda.columnar eso anula su ahorro de memoria (allí no se usan).
+ */
+interface IndiceSecundario {
+
+    void agregar(Contacto contacto);
+
+    void quitar(Contacto contacto);
+
+    /**
+     * Carga inicial con los contactos actuales. Un índice puede sobrescribirlo si construir de golpe
+     * es más barato que añadir uno a uno.
+     */
+    default void agregarTodos(List<Contacto> contactos) {
+        for (Contacto contacto : contactos) {
+            agregar(contacto);
+        }
+    }
+}
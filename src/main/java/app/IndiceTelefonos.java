@@ -0,0 +1,190 @@
+package app;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Índice inverso teléfono -> contacto (identificador de llamadas entrantes).
+ *
+ * - El teléfono se normaliza a sus dígitos y se codifica como long (ver codificar):
+ *   "+52 (55) 1234-5678" y "525512345678" son el mismo número.
+ * - MapaLongInt número -> hueco en un Contacto[]: sin objetos Long/Integer en la búsqueda.
+ * - Varios contactos pueden compartir número: los huecos forman una cadena (int[] siguiente),
+ *   el más reciente primero.
+ *
+ * Thread-safe (StampedLock): altas/bajas con write lock. Las búsquedas son lecturas optimistas (sin escribir
+ * en la palabra del lock, así muchos hilos consultando no se pelean por esa línea de caché); solo si una
+ * escritura coincide con la lectura (validate falla) se repite con read lock.
+ */
+final class IndiceTelefonos implements IndiceSecundario {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    static final long SIN_NUMERO = -1;
+
+    // 1 + 18 dígitos < Long.MAX_VALUE. El 1 inicial conserva los ceros a la izquierda ("0155" != "155").
+    private static final int MAX_DIGITOS = 18;
+    private static final int FIN_CADENA = -1;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final StampedLock lock = new StampedLock();
+    private final MapaLongInt primeroPorNumero = new MapaLongInt();
+
+    private Contacto[] contactos = new Contacto[CAPACIDAD_INICIAL];
+    // Siguiente hueco con el mismo número; en huecos libres, siguiente hueco libre.
+    private int[] siguiente = new int[CAPACIDAD_INICIAL];
+    private int primerLibre = FIN_CADENA;
+    private int usados;
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    @Override
+    public void agregar(Contacto contacto) {
+        long numero = codificar(contacto.getTelefono());
+        if (numero == SIN_NUMERO) return;
+
+        long stamp = lock.writeLock();
+        try {
+            int hueco = reservarHueco();
+            contactos[hueco] = contacto;
+
+            int anterior = primeroPorNumero.put(numero, hueco);
+            siguiente[hueco] = anterior == MapaLongInt.NO_ENCONTRADO ? FIN_CADENA : anterior;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void quitar(Contacto contacto) {
+        long numero = codificar(contacto.getTelefono());
+        if (numero == SIN_NUMERO) return;
+
+        long stamp = lock.writeLock();
+        try {
+            int previo = FIN_CADENA;
+            int hueco = primeroPorNumero.get(numero);
+            while (hueco != MapaLongInt.NO_ENCONTRADO && hueco != FIN_CADENA) {
+                if (contactos[hueco].equals(contacto)) {
+                    desenlazar(numero, previo, hueco);
+                    return;
+                }
+                previo = hueco;
+                hueco = siguiente[hueco];
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return El contacto más reciente con ese número, o null.
+     */
+    Contacto buscar(long numero) {
+        long optimista = lock.tryOptimisticRead();
+        if (optimista != 0) {
+            try {
+                Contacto[] huecos = contactos;
+                int hueco = primeroPorNumero.getOptimista(numero);
+                Contacto encontrado = hueco == MapaLongInt.NO_ENCONTRADO ? null : huecos[hueco];
+                if (lock.validate(optimista)) return encontrado;
+            } catch (ArrayIndexOutOfBoundsException ex) {
+                // Leído a medias de una escritura en curso: se repite con read lock.
+            }
+        }
+
+        long stamp = lock.readLock();
+        try {
+            int hueco = primeroPorNumero.get(numero);
+            return hueco == MapaLongInt.NO_ENCONTRADO ? null : contactos[hueco];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Normaliza un teléfono a sus dígitos y lo codifica como long ("1" + dígitos).
+     *
+     * @return El número codificado, o SIN_NUMERO si no hay dígitos o hay más de MAX_DIGITOS.
+     */
+    static long codificar(String telefono) {
+        if (telefono == null) return SIN_NUMERO;
+
+        long numero = 1;
+        int digitos = 0;
+        for (int i = 0; i < telefono.length(); i++) {
+            char c = telefono.charAt(i);
+            if (!esDigito(c)) continue;
+
+            if (++digitos > MAX_DIGITOS) return SIN_NUMERO;
+            numero = numero * 10 + (c - '0');
+        }
+        return digitos == 0 ? SIN_NUMERO : numero;
+    }
+
+    /**
+     * Compara dos teléfonos por sus dígitos (la misma normalización que codificar, sin límite de dígitos y
+     * sin crear Strings): dígito a dígito de izquierda a derecha; si uno se acaba antes, va primero.
+     * Un teléfono sin dígitos va antes que cualquiera con dígitos.
+     */
+    static int compararDigitos(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (true) {
+            while (i < a.length() && !esDigito(a.charAt(i))) i++;
+            while (j < b.length() && !esDigito(b.charAt(j))) j++;
+
+            if (i == a.length() || j == b.length()) {
+                return Boolean.compare(i < a.length(), j < b.length()); // el que se acabó, primero
+            }
+            int c = Character.compare(a.charAt(i++), b.charAt(j++));
+            if (c != 0) return c;
+        }
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int reservarHueco() {
+        if (primerLibre != FIN_CADENA) {
+            int hueco = primerLibre;
+            primerLibre = siguiente[hueco];
+            return hueco;
+        }
+
+        if (usados == contactos.length) {
+            contactos = Arrays.copyOf(contactos, usados * 2);
+            siguiente = Arrays.copyOf(siguiente, usados * 2);
+        }
+        return usados++;
+    }
+
+    private void desenlazar(long numero, int previo, int hueco) {
+        int resto = siguiente[hueco];
+        if (previo != FIN_CADENA) {
+            siguiente[previo] = resto;
+        } else if (resto == FIN_CADENA) {
+            primeroPorNumero.remove(numero);
+        } else {
+            primeroPorNumero.put(numero, resto);
+        }
+
+        contactos[hueco] = null; // no retener el contacto eliminado
+        siguiente[hueco] = primerLibre;
+        primerLibre = hueco;
+    }
+}
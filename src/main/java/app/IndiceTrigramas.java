@@ -0,0 +1,220 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Índice de trigramas para búsquedas aproximadas ("¿quisiste decir...?").
+ *
+ * - Cada contacto se trocea en trigramas de "$nombre apellido$" (minúsculas): "$ju", "jua", "uan", ...
+ * - Trigrama -> contactos que lo contienen.
+ * - Una búsqueda cuenta cuántos trigramas comparte cada contacto con el texto buscado, se queda con los
+ *   MAX_CANDIDATOS que más comparten y SOLO a esos les calcula la distancia de edición (Levenshtein).
+ * - Las listas se recorren de la más corta (trigrama más raro, más selectivo) a la más larga, y se paran
+ *   en los trigramas frecuentes ("gar", "ez$"...: media agenda los tiene y no distinguen a nadie) y al
+ *   llegar a MAX_VISITADOS. Así la búsqueda no se vuelve O(n) con apellidos comunes.
+ * - El conteo va en arrays de int (sin Integer por candidato).
+ *
+ * Thread-safe (ConcurrentHashMap; cada lista se modifica dentro de compute).
+ */
+final class IndiceTrigramas implements IndiceSecundario {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final char BORDE = '$';
+    private static final int LARGO_TRIGRAMA = 3;
+
+    // Cuántos candidatos (como mucho) pasan a la fase cara de distancia de edición.
+    private static final int MAX_CANDIDATOS = 64;
+
+    // Una lista con más contactos no se recorre (salvo la primera, si todas son así).
+    private static final int MAX_POR_TRIGRAMA = 2_048;
+    // Contactos visitados como mucho por búsqueda, sumando todas las listas.
+    private static final int MAX_VISITADOS = 16_384;
+
+    // Distancia máxima aceptada: al menos 2 ediciones, o un tercio del texto si es más largo.
+    private static final int DISTANCIA_MINIMA_TOLERADA = 2;
+    private static final int DIVISOR_DISTANCIA = 3;
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final Map<String, Set<Contacto>> contactosPorTrigrama = new ConcurrentHashMap<>();
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    @Override
+    public void agregar(Contacto contacto) {
+        for (String trigrama : trigramas(textoDe(contacto))) {
+            contactosPorTrigrama.compute(trigrama, (t, contactos) -> {
+                Set<Contacto> destino = contactos != null ? contactos : ConcurrentHashMap.newKeySet();
+                destino.add(contacto);
+                return destino;
+            });
+        }
+    }
+
+    @Override
+    public void quitar(Contacto contacto) {
+        for (String trigrama : trigramas(textoDe(contacto))) {
+            contactosPorTrigrama.computeIfPresent(trigrama, (t, contactos) -> {
+                contactos.remove(contacto);
+                return contactos.isEmpty() ? null : contactos;
+            });
+        }
+    }
+
+    /**
+     * Contactos parecidos a (nombre, apellido), del más parecido al menos (distancia de edición,
+     * y a igualdad, más trigramas en común).
+     */
+    List<Contacto> buscarSimilares(String nombre, String apellido, int maxResultados) {
+        String buscado = AlmacenContactos.claveDe(nombre, apellido);
+
+        // 3.1) Listas de los trigramas buscados, de la más corta a la más larga
+        List<Set<Contacto>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(buscado)) {
+            Set<Contacto> contactos = contactosPorTrigrama.get(trigrama);
+            if (contactos != null) listas.add(contactos);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        // 3.2) Candidatos: contactos que comparten algún trigrama, contando cuántos (con topes)
+        Candidatos candidatos = new Candidatos();
+        int visitados = 0;
+        recorrido:
+        for (int i = 0; i < listas.size(); i++) {
+            Set<Contacto> contactos = listas.get(i);
+            if (i > 0 && contactos.size() > MAX_POR_TRIGRAMA) break; // las que quedan son aún más largas
+
+            for (Contacto contacto : contactos) {
+                if (visitados++ == MAX_VISITADOS) break recorrido;
+                candidatos.contar(contacto);
+            }
+        }
+
+        // 3.3) Distancia de edición solo para los MAX_CANDIDATOS con más trigramas en común
+        int distanciaMaxima = Math.max(DISTANCIA_MINIMA_TOLERADA, buscado.length() / DIVISOR_DISTANCIA);
+        List<Similar> similares = new ArrayList<>();
+        for (int candidato : candidatos.mejores(MAX_CANDIDATOS)) {
+            Contacto contacto = candidatos.contacto(candidato);
+            int distancia = distanciaEdicion(buscado, contacto.getClaveBusqueda());
+            if (distancia <= distanciaMaxima) {
+                similares.add(new Similar(contacto, distancia, candidatos.comunes(candidato)));
+            }
+        }
+
+        similares.sort(Comparator.comparingInt(Similar::distancia)
+                .thenComparing(Comparator.comparingInt(Similar::comunes).reversed()));
+
+        List<Contacto> resultado = new ArrayList<>(Math.min(maxResultados, similares.size()));
+        for (int i = 0; i < similares.size() && i < maxResultados; i++) {
+            resultado.add(similares.get(i).contacto());
+        }
+        return resultado;
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private record Similar(Contacto contacto, int distancia, int comunes) {
+    }
+
+    /**
+     * Conteo de trigramas en común por candidato: ID -> número de candidato (MapaLongInt) y arrays paralelos.
+     */
+    private static final class Candidatos {
+        private final MapaLongInt numeroPorId = new MapaLongInt();
+        private final List<Contacto> contactos = new ArrayList<>();
+        private int[] comunes = new int[MAX_CANDIDATOS];
+
+        void contar(Contacto contacto) {
+            int numero = numeroPorId.get(contacto.getId());
+            if (numero == MapaLongInt.NO_ENCONTRADO) {
+                numero = contactos.size();
+                numeroPorId.put(contacto.getId(), numero);
+                contactos.add(contacto);
+                if (numero == comunes.length) comunes = Arrays.copyOf(comunes, numero * 2);
+            }
+            comunes[numero]++;
+        }
+
+        Contacto contacto(int numero) {
+            return contactos.get(numero);
+        }
+
+        int comunes(int numero) {
+            return comunes[numero];
+        }
+
+        /**
+         * @return Los números de los "cuantos" candidatos con más trigramas en común.
+         */
+        int[] mejores(int cuantos) {
+            // (comunes << 32 | numero) ordenado: un solo long[] en vez de un montículo de objetos.
+            long[] claves = new long[contactos.size()];
+            for (int numero = 0; numero < claves.length; numero++) {
+                claves[numero] = (long) comunes[numero] << 32 | numero;
+            }
+            Arrays.sort(claves);
+
+            int[] mejores = new int[Math.min(cuantos, claves.length)];
+            for (int i = 0; i < mejores.length; i++) {
+                mejores[i] = (int) claves[claves.length - 1 - i];
+            }
+            return mejores;
+        }
+    }
+
+    private static String textoDe(Contacto contacto) {
+        return contacto.getClaveBusqueda();
+    }
+
+    /**
+     * Trigramas distintos de "$texto$".
+     */
+    private static Set<String> trigramas(String texto) {
+        String conBordes = BORDE + texto + BORDE;
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + LARGO_TRIGRAMA <= conBordes.length(); i++) {
+            resultado.add(conBordes.substring(i, i + LARGO_TRIGRAMA));
+        }
+        return resultado;
+    }
+
+    /**
+     * Distancia de Levenshtein (inserciones, borrados y sustituciones) con dos filas: O(a * b) tiempo, O(b) memoria.
+     */
+    static int distanciaEdicion(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j], actual[j - 1]) + 1);
+            }
+            int[] tmp = anterior;
+            anterior = actual;
+            actual = tmp;
+        }
+        return anterior[b.length()];
+    }
+}
@@ -0,0 +1,307 @@
+package app;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Instantánea (snapshot) binaria de una Agenda, pensada para arrancar rápido con millones de contactos.
+ *
+ * - escribir(agenda, ruta): guarda el estado actual (se escribe a un temporal y se renombra al final).
+ * - cargar(ruta): mapea el archivo con FileChannel.map y devuelve una Agenda lista para usar SIN recorrer
+ *   los registros: los índices (por clave y por ID) ya vienen construidos dentro del archivo y los Contacto
+ *   se crean al vuelo desde la región mapeada cuando alguien los pide (ver AlmacenMapeado).
+ * - El archivo guarda también el estado del generador de IDs: los contactos nuevos nunca chocan con los restaurados.
+ *
+ * Con DiarioAgenda: diario.escribirInstantanea(agenda, ruta) (escribe y vacía el diario sin operaciones en medio);
+ * al arrancar, cargar la instantánea y abrir el diario sobre esa agenda.
+ *
+ * Formato (little-endian, enteros de 4 bytes salvo los IDs, de 8):
+ * - Cabecera: MAGIA, VERSION, capacidadMaxima, n, celdasClave, celdasId, largoDatos, (reservado), siguienteId (8 bytes)
+ * - Datos: registros [largo][nombre][largo][apellido][largo][telefono] (largo en varint, texto en UTF-8)
+ * - Columnas: ids[n] (8 bytes), offsets[n], hashClaves[n]
+ * - Tablas hash (sondeo lineal, posición + 1; 0 = vacío): tablaClaves[celdasClave], tablaIds[celdasId]
+ * Límite: el archivo debe caber en un solo mapeo (< 2 GB).
+ */
+public final class InstantaneaAgenda {
+
+    // -------------------------
+    // 1) Formato
+    // -------------------------
+
+    static final int MAGIA = 0x41475331; // "AGS1"
+    static final int VERSION = 3; // 2: IDs de 64 bits; 3: claves sin acentos
+    static final int LARGO_CABECERA = 40;
+    static final ByteOrder ORDEN = ByteOrder.LITTLE_ENDIAN;
+
+    static final int POS_CAPACIDAD = 8;
+    static final int POS_TAMANIO = 12;
+    static final int POS_CELDAS_CLAVE = 16;
+    static final int POS_CELDAS_ID = 20;
+    static final int POS_LARGO_DATOS = 24;
+    static final int POS_SIGUIENTE_ID = 32;
+
+    private static final int TAMANIO_BUFFER = 1 << 16;
+    private static final String SUFIJO_TEMPORAL = ".tmp";
+
+    private static final String MSG_NO_ES_INSTANTANEA = "El archivo no es una instantánea de agenda: ";
+    private static final String MSG_DEMASIADO_GRANDE = "La instantánea supera el tamaño máximo mapeable (2 GB).";
+    private static final String MSG_CORRUPTA = "Instantánea truncada o corrupta (la cabecera no cuadra con el archivo): ";
+
+    private InstantaneaAgenda() {
+    }
+
+    // -------------------------
+    // 2) API pública
+    // -------------------------
+
+    /**
+     * Escribe la instantánea de la agenda (orden del archivo = orden de listarContactos()).
+     * Al volver, el archivo y su nombre ya son duraderos (fsync del archivo y del directorio tras renombrar):
+     * DiarioAgenda trunca el diario justo después y no puede quedar un diario vacío con la instantánea vieja.
+     */
+    public static void escribir(Agenda agenda, Path archivo) throws IOException {
+        List<Contacto> contactos = agenda.listarContactos();
+        int n = contactos.size();
+
+        long[] ids = new long[n];
+        int[] offsets = new int[n];
+        int[] hashClaves = new int[n];
+
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + SUFIJO_TEMPORAL);
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_BUFFER).order(ORDEN);
+            canal.position(LARGO_CABECERA);
+
+            // 2.1) Datos, recogiendo las columnas por el camino
+            long largoDatos = 0;
+            for (int i = 0; i < n; i++) {
+                Contacto contacto = contactos.get(i);
+                ids[i] = contacto.getId();
+                offsets[i] = (int) largoDatos;
+                hashClaves[i] = contacto.getClaveBusqueda().hashCode();
+
+                largoDatos += escribirRegistro(canal, buffer, contacto);
+                if (largoDatos > Integer.MAX_VALUE) {
+                    throw new IOException(MSG_DEMASIADO_GRANDE);
+                }
+            }
+
+            // 2.2) Columnas y tablas hash
+            int celdasClave = celdasPara(n);
+            int celdasId = celdasPara(n);
+            escribirLargos(canal, buffer, ids);
+            escribirEnteros(canal, buffer, offsets);
+            escribirEnteros(canal, buffer, hashClaves);
+            escribirEnteros(canal, buffer, construirTabla(hashClaves, celdasClave));
+            escribirEnteros(canal, buffer, construirTabla(hashesDeIds(ids), celdasId));
+            volcar(canal, buffer);
+
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException(MSG_DEMASIADO_GRANDE);
+            }
+
+            // 2.3) Cabecera (al final, cuando ya se conocen todos los tamaños)
+            buffer.putInt(MAGIA).putInt(VERSION)
+                    .putInt(agenda.getCapacidadMaxima())
+                    .putInt(n).putInt(celdasClave).putInt(celdasId).putInt((int) largoDatos)
+                    .putInt(0).putLong(Contacto.siguienteId());
+            canal.position(0);
+            volcar(canal, buffer);
+            canal.force(true);
+        }
+
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDirectorio(archivo.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Carga una instantánea mapeándola en memoria. Coste independiente del número de contactos.
+     * La agenda resultante admite altas y bajas (se guardan aparte; el archivo no se modifica).
+     * No es thread-safe.
+     *
+     * @throws IOException si no es una instantánea, o si la cabecera (tamaños de cada zona) no cuadra con el
+     *                     tamaño del archivo: un archivo truncado falla aquí y no más tarde dentro de una búsqueda.
+     *                     Los registros en sí no se recorren (sería O(n)).
+     */
+    public static Agenda cargar(Path archivo) throws IOException {
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() < LARGO_CABECERA) {
+                throw new IOException(MSG_NO_ES_INSTANTANEA + archivo);
+            }
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException(MSG_DEMASIADO_GRANDE);
+            }
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()); // el mapeo sobrevive al canal
+        }
+        mapa.order(ORDEN);
+
+        if (mapa.getInt(0) != MAGIA || mapa.getInt(4) != VERSION) {
+            throw new IOException(MSG_NO_ES_INSTANTANEA + archivo);
+        }
+        if (!cabeceraCuadra(mapa)) {
+            throw new IOException(MSG_CORRUPTA + archivo);
+        }
+
+        Contacto.asegurarIdsMayoresQue(mapa.getLong(POS_SIGUIENTE_ID) - 1);
+
+        AlmacenMapeado almacen = new AlmacenMapeado(mapa);
+        return new Agenda(mapa.getInt(POS_CAPACIDAD), almacen, almacen.tamanioBase());
+    }
+
+    // -------------------------
+    // 3) Helpers compartidos con AlmacenMapeado
+    // -------------------------
+
+    /**
+     * Posición ideal de un ID en tablaIds (la misma mezcla al escribir y al leer).
+     */
+    static int hashId(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // -------------------------
+    // 4) Helpers de lectura
+    // -------------------------
+
+    /**
+     * Las zonas que describe la cabecera (datos, columnas, tablas) ocupan exactamente el archivo,
+     * y las tablas hash tienen un tamaño que AlmacenMapeado puede recorrer (potencia de 2, con huecos libres).
+     */
+    private static boolean cabeceraCuadra(ByteBuffer mapa) {
+        long n = mapa.getInt(POS_TAMANIO);
+        long celdasClave = mapa.getInt(POS_CELDAS_CLAVE);
+        long celdasId = mapa.getInt(POS_CELDAS_ID);
+        long largoDatos = mapa.getInt(POS_LARGO_DATOS);
+        if (n < 0 || largoDatos < 0 || mapa.getInt(POS_CAPACIDAD) < n || mapa.getLong(POS_SIGUIENTE_ID) <= 0) {
+            return false;
+        }
+        if (!tablaRecorrible(celdasClave, n) || !tablaRecorrible(celdasId, n)) {
+            return false;
+        }
+
+        long esperado = LARGO_CABECERA + largoDatos
+                + n * (Long.BYTES + 2 * Integer.BYTES)
+                + (celdasClave + celdasId) * Integer.BYTES;
+        return esperado == mapa.capacity();
+    }
+
+    private static boolean tablaRecorrible(long celdas, long n) {
+        return celdas > n && Long.bitCount(celdas) == 1;
+    }
+
+    // -------------------------
+    // 5) Helpers de escritura
+    // -------------------------
+
+    /**
+     * fsync del directorio: hace duradero el rename (la entrada del directorio), no solo el contenido.
+     * En Windows no se puede abrir un directorio como canal; NTFS ya registra el rename en su diario.
+     */
+    private static void sincronizarDirectorio(Path directorio) throws IOException {
+        if (directorio == null || System.getProperty("os.name", "").startsWith("Windows")) return;
+
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        }
+    }
+
+    private static int celdasPara(int n) {
+        return Integer.highestOneBit(Math.max(1, n) * 2 - 1) << 1; // potencia de 2 >= 2n
+    }
+
+    private static int[] hashesDeIds(long[] ids) {
+        int[] hashes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            hashes[i] = hashId(ids[i]);
+        }
+        return hashes;
+    }
+
+    private static int[] construirTabla(int[] hashes, int celdas) {
+        int[] tabla = new int[celdas];
+        int mascara = celdas - 1;
+        for (int posicion = 0; posicion < hashes.length; posicion++) {
+            int i = hashes[posicion] & mascara;
+            while (tabla[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            tabla[i] = posicion + 1;
+        }
+        return tabla;
+    }
+
+    private static int escribirRegistro(FileChannel canal, ByteBuffer buffer, Contacto contacto) throws IOException {
+        return escribirCampo(canal, buffer, contacto.getNombre())
+                + escribirCampo(canal, buffer, contacto.getApellido())
+                + escribirCampo(canal, buffer, contacto.getTelefono());
+    }
+
+    private static int escribirCampo(FileChannel canal, ByteBuffer buffer, String valor) throws IOException {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < bytes.length + 5) {
+            volcar(canal, buffer);
+        }
+
+        int inicio = buffer.position();
+        int largo = bytes.length;
+        while ((largo & ~0x7F) != 0) {
+            buffer.put((byte) ((largo & 0x7F) | 0x80));
+            largo >>>= 7;
+        }
+        buffer.put((byte) largo);
+        int largoVarint = buffer.position() - inicio;
+
+        // Un campo enorme (más grande que el buffer) se escribe directo.
+        if (buffer.remaining() < bytes.length) {
+            volcar(canal, buffer);
+            escribirTodo(canal, ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+        return largoVarint + bytes.length;
+    }
+
+    private static void escribirEnteros(FileChannel canal, ByteBuffer buffer, int[] valores) throws IOException {
+        for (int valor : valores) {
+            if (buffer.remaining() < Integer.BYTES) {
+                volcar(canal, buffer);
+            }
+            buffer.putInt(valor);
+        }
+    }
+
+    private static void escribirLargos(FileChannel canal, ByteBuffer buffer, long[] valores) throws IOException {
+        for (long valor : valores) {
+            if (buffer.remaining() < Long.BYTES) {
+                volcar(canal, buffer);
+            }
+            buffer.putLong(valor);
+        }
+    }
+
+    private static void volcar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        escribirTodo(canal, buffer);
+        buffer.clear();
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+}
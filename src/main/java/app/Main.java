@@ -1,21 +1,69 @@
 package app;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * DOCUMENTACIÓN PARA EL EQUIPO:
- * Punto de entrada de la aplicación.
+ * Punto de entrada de la aplicación: elige el modo según el primer argumento.
+ *
+ *   --fx                      JavaFX (AppFx). También si no hay argumentos o el primero no es un modo.
+ *   --swing                   Swing (AppSwing)
+ *   --consola                 menú en terminal (AppConsola)
+ *   --lotes [archivo|-]       comandos sin menú (AppConsola / ConsolaPorLotes)
+ *   --servidor [puerto]       servidor HTTP/JSON (ServidorAgenda)
+ *   --binario [puerto]        servidor TCP binario (ServidorBinario)
+ *   --entrenar-cds            ejecución de entrenamiento para el archivo AppCDS (EntrenamientoCds)
+ *   --ayuda                   esta lista
  *
  * Decisión de diseño:
- * - Delegamos el arranque a AppFx para iniciar JavaFX sin depender de lógica de consola.
+ * - Main solo contiene el switch: cada rama nombra una sola clase y la JVM carga clases al usarlas por primera vez,
+ *   así que la consola o los servidores no cargan JavaFX ni Swing (ni los necesitan en el classpath).
+ *   Por eso aquí no se importa ni se construye nada de ninguna UI.
  * - Mantener este Main “delgado” facilita cambiar la UI (Swing/JavaFX) sin tocar el resto del proyecto.
+ * - Arranque en frío: ver el perfil "cds" del pom (AppCDS) y app.bench.MedicionArranque.
  */
 public class Main {
 
+    private static final String MODO_FX = "--fx";
+    private static final String MODO_SWING = "--swing";
+    private static final String MODO_CONSOLA = "--consola";
+    private static final String MODO_LOTES = "--lotes";
+    private static final String MODO_SERVIDOR = "--servidor";
+    private static final String MODO_BINARIO = "--binario";
+    private static final String MODO_ENTRENAR_CDS = "--entrenar-cds";
+    private static final String MODO_AYUDA = "--ayuda";
+
+    private static final String USO = """
+            Uso: java app.Main [modo] [argumentos]
+              --fx                  JavaFX (por defecto)
+              --swing               Swing
+              --consola             menú en terminal
+              --lotes [archivo|-]   comandos desde un archivo o stdin, sin menú
+              --servidor [puerto]   servidor HTTP/JSON
+              --binario [puerto]    servidor TCP binario
+              --entrenar-cds        genera el archivo AppCDS (con los argumentos del perfil "cds")
+            """;
+
     // -------------------------
     // 1) Lógica principal (entrypoint)
     // -------------------------
 
-    public static void main(String[] args) {
-        // Arranca la aplicación JavaFX (AppFx extiende Application y llama a launch internamente)
-        AppFx.main(args);
+    public static void main(String[] args) throws IOException {
+        String modo = args.length > 0 ? args[0] : MODO_FX;
+        String[] resto = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+
+        switch (modo) {
+            case MODO_FX -> AppFx.main(resto);
+            case MODO_SWING -> AppSwing.main(resto);
+            case MODO_CONSOLA -> AppConsola.main(resto);
+            case MODO_LOTES -> AppConsola.main(args); // AppConsola reconoce "--lotes" por sí misma
+            case MODO_SERVIDOR -> ServidorAgenda.main(resto);
+            case MODO_BINARIO -> ServidorBinario.main(resto);
+            case MODO_ENTRENAR_CDS -> EntrenamientoCds.main(resto);
+            case MODO_AYUDA -> System.out.print(USO);
+            // Compatibilidad: antes Main pasaba todos los argumentos a JavaFX.
+            default -> AppFx.main(args);
+        }
     }
 }
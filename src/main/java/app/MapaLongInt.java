@@ -0,0 +1,202 @@
+package app;
+
+import java.util.Arrays;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Mapa primitivo long -> int con direccionamiento abierto (sondeo lineal).
+ *
+ * Motivo: HashMap<Long, Integer> crea un objeto por clave, por valor y por entrada;
+ * con millones de contactos eso pesa más que los propios datos.
+ *
+ * Reglas:
+ * - Los valores deben ser >= 0 (NO_ENCONTRADO = -1 marca las celdas vacías).
+ * - Borrado con "backward shift": no deja marcas de borrado, así las búsquedas no se degradan.
+ * - No es thread-safe (getOptimista sirve para leer con StampedLock.tryOptimisticRead, ver IndiceTelefonos).
+ */
+final class MapaLongInt {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    static final int NO_ENCONTRADO = -1;
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final long MEZCLA = 0x9E3779B97F4A7C15L;
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private long[] claves;
+    private int[] valores;
+    private int mascara;
+    private int tamanio;
+
+    MapaLongInt() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    MapaLongInt(int capacidadEsperada) {
+        int celdas = Integer.highestOneBit(Math.max(CAPACIDAD_INICIAL, capacidadEsperada) * 2 - 1) << 1;
+        inicializar(celdas);
+    }
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    /**
+     * @return el valor asociado o NO_ENCONTRADO.
+     */
+    int get(long clave) {
+        int i = posicionIdeal(clave);
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == clave) {
+                return valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * get para lecturas optimistas (StampedLock.tryOptimisticRead) mientras otro hilo puede estar escribiendo:
+     * lee cada array una sola vez y acota el sondeo, así un estado a medias nunca deja el bucle colgado.
+     * El resultado solo vale si después validate() confirma que no hubo escritura; con un estado a medias
+     * puede lanzar ArrayIndexOutOfBoundsException (el que llama lo trata como una validación fallida).
+     */
+    int getOptimista(long clave) {
+        long[] c = claves;
+        int[] v = valores;
+        int m = v.length - 1;
+        int i = mezclar(clave) & m;
+        for (int pasos = 0; pasos <= m && v[i] != NO_ENCONTRADO; pasos++) {
+            if (c[i] == clave) {
+                return v[i];
+            }
+            i = (i + 1) & m;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * @return el valor anterior o NO_ENCONTRADO.
+     */
+    int put(long clave, int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El valor debe ser >= 0.");
+        }
+
+        int i = posicionIdeal(clave);
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == clave) {
+                int anterior = valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+
+        claves[i] = clave;
+        valores[i] = valor;
+        tamanio++;
+        crecerSiHaceFalta();
+        return NO_ENCONTRADO;
+    }
+
+    /**
+     * @return el valor eliminado o NO_ENCONTRADO.
+     */
+    int remove(long clave) {
+        int i = posicionIdeal(clave);
+        while (valores[i] != NO_ENCONTRADO) {
+            if (claves[i] == clave) {
+                int anterior = valores[i];
+                borrarEn(i);
+                tamanio--;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    int size() {
+        return tamanio;
+    }
+
+    void clear() {
+        Arrays.fill(valores, NO_ENCONTRADO);
+        tamanio = 0;
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private void inicializar(int celdas) {
+        claves = new long[celdas];
+        valores = new int[celdas];
+        Arrays.fill(valores, NO_ENCONTRADO);
+        mascara = celdas - 1;
+    }
+
+    private int posicionIdeal(long clave) {
+        return mezclar(clave) & mascara;
+    }
+
+    private static int mezclar(long clave) {
+        long h = clave * MEZCLA;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Factor de carga máximo 0.5: con sondeo lineal mantiene las cadenas cortas.
+     */
+    private void crecerSiHaceFalta() {
+        if (tamanio * 2 <= valores.length) {
+            return;
+        }
+
+        long[] clavesViejas = claves;
+        int[] valoresViejos = valores;
+        inicializar(valores.length * 2);
+
+        for (int j = 0; j < valoresViejos.length; j++) {
+            if (valoresViejos[j] == NO_ENCONTRADO) continue;
+
+            int i = posicionIdeal(clavesViejas[j]);
+            while (valores[i] != NO_ENCONTRADO) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clavesViejas[j];
+            valores[i] = valoresViejos[j];
+        }
+    }
+
+    /**
+     * Vacía la celda i y recoloca las entradas siguientes del mismo "cluster" que quedarían inalcanzables.
+     */
+    private void borrarEn(int i) {
+        int libre = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (valores[j] == NO_ENCONTRADO) break;
+
+            int ideal = posicionIdeal(claves[j]);
+            boolean puedeMoverse = libre <= j
+                    ? (ideal <= libre || ideal > j)
+                    : (ideal <= libre && ideal > j);
+
+            if (puedeMoverse) {
+                claves[libre] = claves[j];
+                valores[libre] = valores[j];
+                libre = j;
+            }
+        }
+        valores[libre] = NO_ENCONTRADO;
+    }
+}
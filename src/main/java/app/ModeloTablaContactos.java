@@ -0,0 +1,223 @@
+package app;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.Serial;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Modelo de JTable que lee las filas directamente de la agenda, sin copiarlas.
+ *
+ * - JTable solo pide (getValueAt) las celdas visibles: con 100k+ contactos no se construye ningún texto gigante.
+ * - Sin columna de orden: filas = Agenda.listarContactos() (instantánea, no se copia).
+ * - Con columna de orden: las filas se piden por páginas a Agenda.listarContactos(orden, offset, limite),
+ *   que se sirve del índice ordenado (IndiceOrden) que la agenda ya mantiene con cada alta/baja.
+ *   Un alta/baja no reordena nada: solo se olvidan las pocas páginas cacheadas. El sentido descendente
+ *   es leer la fila "n - 1 - fila" del orden ascendente.
+ * - Ninguna llamada a la agenda se hace en el EDT: una página que no está en caché se pide en segundo plano,
+ *   mientras tanto sus filas se pintan vacías y, al llegar, se repintan (fireTableRowsUpdated).
+ * - refrescar() vuelve a leer la agenda; hay que llamarlo (en el EDT) después de cada alta/baja.
+ *   La lectura se hace en segundo plano (EjecutorSegundoPlano) y se aplica en el EDT (la primera vez que
+ *   se ordena por una columna, ahí se construye su índice); si se piden varios refrescos seguidos, solo
+ *   se aplica el último.
+ */
+final class ModeloTablaContactos extends AbstractTableModel {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    static final int COLUMNA_ID = 0;
+    static final int COLUMNA_NOMBRE = 1;
+    static final int COLUMNA_APELLIDO = 2;
+    static final int COLUMNA_TELEFONO = 3;
+
+    private static final String[] COLUMNAS = {"ID", "Nombre", "Apellido", "Teléfono"};
+    private static final OrdenContactos[] ORDEN_POR_COLUMNA = {
+            OrdenContactos.ID, OrdenContactos.NOMBRE, OrdenContactos.APELLIDO, OrdenContactos.TELEFONO};
+    private static final String FLECHA_ASC = " ▲";
+    private static final String FLECHA_DESC = " ▼";
+    private static final int SIN_ORDEN = -1;
+
+    private static final int FILAS_POR_PAGINA = 256;
+    private static final int PAGINAS_EN_CACHE = 8; // varias pantallas de tabla; al hacer scroll se piden más
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final transient Agenda agenda;
+    private final transient EjecutorSegundoPlano ejecutor;
+
+    private transient List<Contacto> contactos = List.of();
+    private transient OrdenContactos orden; // null => orden natural de la agenda
+    private boolean descendente;
+    private final transient Map<Integer, List<Contacto>> paginas =
+            new LinkedHashMap<>(PAGINAS_EN_CACHE * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Contacto>> masAntigua) {
+                    return size() > PAGINAS_EN_CACHE;
+                }
+            };
+
+    private final transient Set<Integer> paginasPedidas = new HashSet<>();
+    private int version; // sube con cada lectura aplicada: una página pedida antes ya no vale
+
+    private int columnaOrden = SIN_ORDEN;
+    private boolean ascendente = true;
+    private int ultimaLectura; // para descartar lecturas que llegan después de otra más nueva
+
+    ModeloTablaContactos(Agenda agenda, EjecutorSegundoPlano ejecutor) {
+        this.agenda = agenda;
+        this.ejecutor = ejecutor;
+    }
+
+    // -------------------------
+    // 3) API del modelo
+    // -------------------------
+
+    @Override
+    public int getRowCount() {
+        return contactos.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        if (columna != columnaOrden) return COLUMNAS[columna];
+        return COLUMNAS[columna] + (ascendente ? FLECHA_ASC : FLECHA_DESC);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == COLUMNA_ID ? Long.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Contacto contacto = contactoEn(fila);
+        return contacto != null ? valor(contacto, columna) : null;
+    }
+
+    /**
+     * @return El contacto de la fila, o null si su página aún se está leyendo (la fila se repinta al llegar)
+     * o si el índice aún no lo tiene (alta/baja de otro hilo en curso: el siguiente refrescar() lo corrige).
+     */
+    Contacto contactoEn(int fila) {
+        if (orden == null) return contactos.get(fila);
+
+        int posicion = descendente ? contactos.size() - 1 - fila : fila;
+        int numero = posicion / FILAS_POR_PAGINA;
+        List<Contacto> pagina = paginas.get(numero);
+        if (pagina == null) {
+            pedirPagina(numero);
+            return null;
+        }
+        int enPagina = posicion % FILAS_POR_PAGINA;
+        return enPagina < pagina.size() ? pagina.get(enPagina) : null;
+    }
+
+    /**
+     * Vuelve a leer la agenda (en el orden de la columna elegida, si la hay).
+     *
+     * @param despues Se ejecuta en el EDT cuando la tabla ya muestra los datos nuevos.
+     */
+    void refrescar(Runnable despues) {
+        leer(false, despues);
+    }
+
+    void refrescar() {
+        refrescar(() -> {
+        });
+    }
+
+    /**
+     * Ordena por la columna indicada; si ya era la columna de orden, invierte el sentido.
+     */
+    void ordenarPor(int columna) {
+        ascendente = columna != columnaOrden || !ascendente;
+        columnaOrden = columna;
+        leer(true, () -> {
+        });
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private static Object valor(Contacto contacto, int columna) {
+        return switch (columna) {
+            case COLUMNA_ID -> contacto.getId();
+            case COLUMNA_NOMBRE -> contacto.getNombre();
+            case COLUMNA_APELLIDO -> contacto.getApellido();
+            case COLUMNA_TELEFONO -> contacto.getTelefono();
+            default -> throw new IndexOutOfBoundsException(columna);
+        };
+    }
+
+    private void pedirPagina(int numero) {
+        if (!paginasPedidas.add(numero)) return; // ya pedida
+
+        int versionPedida = version;
+        OrdenContactos ordenPedido = orden;
+        ejecutor.ejecutar(progreso -> agenda.listarContactos(ordenPedido, numero * FILAS_POR_PAGINA, FILAS_POR_PAGINA),
+                pagina -> {
+                    if (versionPedida != version) return; // llegó después de un refresco
+
+                    paginasPedidas.remove(numero);
+                    paginas.put(numero, pagina);
+                    int desde = numero * FILAS_POR_PAGINA;
+                    int hasta = Math.min(contactos.size(), desde + FILAS_POR_PAGINA) - 1;
+                    if (hasta < desde) return;
+                    if (descendente) {
+                        fireTableRowsUpdated(contactos.size() - 1 - hasta, contactos.size() - 1 - desde);
+                    } else {
+                        fireTableRowsUpdated(desde, hasta);
+                    }
+                });
+    }
+
+    private void leer(boolean cambiaCabecera, Runnable despues) {
+        int lectura = ++ultimaLectura;
+        OrdenContactos ordenLeido = columnaOrden == SIN_ORDEN ? null : ORDEN_POR_COLUMNA[columnaOrden];
+        boolean descendenteLeido = !ascendente;
+
+        ejecutor.ejecutar(progreso -> {
+            // La primera página construye el índice del orden (si aún no existe) fuera del EDT.
+            List<Contacto> primera = ordenLeido == null
+                    ? List.of()
+                    : agenda.listarContactos(ordenLeido, 0, FILAS_POR_PAGINA);
+            return new Lectura(agenda.listarContactos(), primera);
+        }, resultado -> {
+            if (lectura != ultimaLectura) return;
+
+            contactos = resultado.contactos();
+            orden = ordenLeido;
+            descendente = descendenteLeido;
+            version++;
+            paginas.clear();
+            paginasPedidas.clear();
+            if (ordenLeido != null) paginas.put(0, resultado.primeraPagina());
+            if (cambiaCabecera) {
+                fireTableStructureChanged(); // también refresca el título (flecha) de las columnas
+            } else {
+                fireTableDataChanged();
+            }
+            despues.run();
+        });
+    }
+
+    private record Lectura(List<Contacto> contactos, List<Contacto> primeraPagina) {
+    }
+}
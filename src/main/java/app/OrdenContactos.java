@@ -0,0 +1,16 @@
+package app;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Criterio de orden de Agenda.listarContactos(orden, offset, limite).
+ *
+ * Los órdenes alfabéticos siguen las reglas del español (Collator "es"): "Álvarez" va junto a "Alvarez"
+ * y la "ñ" va después de la "n". A igualdad, desempata el ID (el orden es siempre total y estable).
+ */
+public enum OrdenContactos {
+
+    APELLIDO, // apellido, luego nombre
+    NOMBRE,   // nombre, luego apellido
+    ID,
+    TELEFONO  // solo los dígitos, de izquierda a derecha ("55-1234" = "551234"); sin dígitos (o sin teléfono), primero
+}
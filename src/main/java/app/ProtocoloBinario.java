@@ -0,0 +1,162 @@
+package app;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Protocolo binario de ServidorBinario / ClienteBinario (TCP, big-endian).
+ *
+ * Trama (petición y respuesta):  [int largo][int idPeticion][byte operación | estado][datos...]
+ * - "largo" cuenta lo que va detrás de él (idPeticion + código + datos), como mucho MAX_TRAMA.
+ * - Las respuestas salen en el mismo orden que las peticiones y repiten su idPeticion: el cliente puede
+ *   enviar muchas seguidas sin esperar (pipelining) y emparejarlas después.
+ *
+ * Operaciones (datos de la petición -> datos de la respuesta si el estado es OK):
+ * - OBTENER_POR_IDS      [int n][long id]*n                         -> [int n][contacto opcional]*n
+ * - OBTENER_POR_NOMBRES  [int n]([texto nombre][texto apellido])*n  -> [int n][contacto opcional]*n
+ * - ANADIR               [texto nombre][texto apellido][texto tel]  -> [long id]
+ * - ELIMINAR             [long id]                                  -> (nada)
+ * - ESTADO               (nada)                                     -> [int contactos][int capacidad]
+ *
+ * Tipos: texto = [unsigned short bytes][UTF-8]; contacto = [long id][texto nombre][texto apellido][texto tel];
+ * contacto opcional = [byte 0] (no existe) o [byte 1][contacto]. Un lote tiene como mucho MAX_POR_LOTE elementos.
+ * Si un estado no es OK, la respuesta puede traer un texto con el motivo.
+ *
+ * Límite de tamaño: toda trama (también la respuesta de un multi-get) cabe en TAMANIO_BUFFER (64 KiB).
+ * MAX_POR_LOTE no lo garantiza: 1024 contactos caben si miden de media menos de ~60 bytes codificados, y
+ * un solo contacto puede llegar a ~192 KiB (tres textos de MAX_TEXTO). Si no cabe, el servidor responde
+ * RESPUESTA_DEMASIADO_GRANDE; ClienteBinario entonces parte el lote en mitades y las pide por separado.
+ */
+final class ProtocoloBinario {
+
+    // -------------------------
+    // 1) Constantes
+    // -------------------------
+
+    static final int TAMANIO_BUFFER = 64 * 1024;
+    static final int LARGO_PREFIJO = Integer.BYTES;
+    static final int LARGO_CABECERA = Integer.BYTES + Byte.BYTES; // idPeticion + código
+    static final int MAX_TRAMA = TAMANIO_BUFFER - LARGO_PREFIJO;
+    static final int MAX_POR_LOTE = 1024;
+    static final int MAX_TEXTO = 0xFFFF;
+
+    // Operaciones
+    static final byte OBTENER_POR_IDS = 1;
+    static final byte OBTENER_POR_NOMBRES = 2;
+    static final byte ANADIR = 3;
+    static final byte ELIMINAR = 4;
+    static final byte ESTADO = 5;
+
+    // Estados
+    static final byte OK = 0;
+    static final byte NO_ENCONTRADO = 1;
+    static final byte DUPLICADO = 2;
+    static final byte LLENA = 3;
+    static final byte PETICION_INVALIDA = 4;
+    static final byte OPERACION_DESCONOCIDA = 5;
+    static final byte RESPUESTA_DEMASIADO_GRANDE = 6;
+
+    static final byte AUSENTE = 0;
+    static final byte PRESENTE = 1;
+
+    private ProtocoloBinario() {
+    }
+
+    // -------------------------
+    // 2) Estados <-> ResultadoOperacion
+    // -------------------------
+
+    static byte estadoDe(ResultadoOperacion resultado) {
+        return switch (resultado) {
+            case OK -> OK;
+            case NOT_FOUND -> NO_ENCONTRADO;
+            case DUPLICATE -> DUPLICADO;
+            case FULL -> LLENA;
+            case NULL -> PETICION_INVALIDA;
+        };
+    }
+
+    static ResultadoOperacion resultadoDe(byte estado) {
+        return switch (estado) {
+            case OK -> ResultadoOperacion.OK;
+            case NO_ENCONTRADO -> ResultadoOperacion.NOT_FOUND;
+            case DUPLICADO -> ResultadoOperacion.DUPLICATE;
+            case LLENA -> ResultadoOperacion.FULL;
+            default -> ResultadoOperacion.NULL;
+        };
+    }
+
+    // -------------------------
+    // 3) Textos y contactos
+    // -------------------------
+
+    /**
+     * Escribe el texto en UTF-8 carácter a carácter (sin byte[] intermedio).
+     *
+     * @throws BufferOverflowException si no cabe (o si pasa de MAX_TEXTO bytes).
+     */
+    static void escribirTexto(ByteBuffer buffer, String texto) {
+        int posicionLargo = buffer.position();
+        buffer.putShort((short) 0); // se corrige al final
+        int largo = texto.length();
+        for (int i = 0; i < largo; i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < largo && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, texto.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?'); // suplente suelto: no es UTF-8 válido
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        int bytes = buffer.position() - posicionLargo - Short.BYTES;
+        if (bytes > MAX_TEXTO) throw new BufferOverflowException();
+        buffer.putShort(posicionLargo, (short) bytes);
+    }
+
+    /**
+     * @param temporal Bytes de trabajo (MAX_TEXTO como mínimo) para no crear un array por texto.
+     */
+    static String leerTexto(ByteBuffer buffer, byte[] temporal) {
+        int bytes = Short.toUnsignedInt(buffer.getShort());
+        buffer.get(temporal, 0, bytes);
+        return new String(temporal, 0, bytes, StandardCharsets.UTF_8);
+    }
+
+    static void escribirContacto(ByteBuffer buffer, Contacto contacto) {
+        if (contacto == null) {
+            buffer.put(AUSENTE);
+            return;
+        }
+        buffer.put(PRESENTE);
+        buffer.putLong(contacto.getId());
+        escribirTexto(buffer, contacto.getNombre());
+        escribirTexto(buffer, contacto.getApellido());
+        escribirTexto(buffer, contacto.getTelefono());
+    }
+
+    static Contacto leerContacto(ByteBuffer buffer, byte[] temporal) {
+        if (buffer.get() == AUSENTE) {
+            return null;
+        }
+        long id = buffer.getLong();
+        String nombre = leerTexto(buffer, temporal);
+        String apellido = leerTexto(buffer, temporal);
+        String telefono = leerTexto(buffer, temporal);
+        return new Contacto(id, nombre, apellido, telefono);
+    }
+}
@@ -0,0 +1,21 @@
+package app;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Destino de los eventos de la Agenda (consola, log, UI, ...).
+ *
+ * Se llama en el mismo hilo que hizo la operación: las implementaciones deben ser rápidas.
+ * Si el destino es lento (consola, disco), envolverlo en ReceptorEventosAsincrono.
+ */
+@FunctionalInterface
+public interface ReceptorEventos {
+
+    void recibir(EventoAgenda evento);
+
+    /**
+     * Imprime cada evento en System.out (comportamiento histórico de Agenda). Síncrono.
+     */
+    static ReceptorEventos consola() {
+        return evento -> System.out.println(evento.mensaje());
+    }
+}
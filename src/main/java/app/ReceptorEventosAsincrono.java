@@ -0,0 +1,128 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Receptor que saca los eventos del hilo de la Agenda y los entrega por lotes en un hilo propio.
+ *
+ * Reglas:
+ * - recibir() nunca bloquea: si la cola está llena, el evento se descarta y se cuenta (getDescartados()).
+ * - El destino recibe listas de hasta "tamanioLote" eventos, en el orden en que llegaron.
+ * - close() entrega lo pendiente y para el hilo. Lo que llegue después se descarta (y se cuenta).
+ */
+public final class ReceptorEventosAsincrono implements ReceptorEventos, AutoCloseable {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int DEFAULT_CAPACIDAD_COLA = 65_536;
+    private static final int DEFAULT_TAMANIO_LOTE = 1_024;
+    private static final long ESPERA_MS = 50;
+
+    private static final String NOMBRE_HILO = "agenda-eventos";
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final BlockingQueue<EventoAgenda> cola;
+    private final Consumer<List<EventoAgenda>> destino;
+    private final int tamanioLote;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread hilo;
+
+    private volatile boolean cerrado;
+
+    public ReceptorEventosAsincrono(Consumer<List<EventoAgenda>> destino) {
+        this(destino, DEFAULT_CAPACIDAD_COLA, DEFAULT_TAMANIO_LOTE);
+    }
+
+    public ReceptorEventosAsincrono(Consumer<List<EventoAgenda>> destino, int capacidadCola, int tamanioLote) {
+        this.cola = new ArrayBlockingQueue<>(Math.max(1, capacidadCola));
+        this.destino = destino;
+        this.tamanioLote = Math.max(1, tamanioLote);
+        this.hilo = Thread.ofPlatform().daemon().name(NOMBRE_HILO).start(this::bucleEntrega);
+    }
+
+    /**
+     * Versión asíncrona de ReceptorEventos.consola(): un solo print por lote.
+     */
+    public static ReceptorEventosAsincrono haciaConsola() {
+        return new ReceptorEventosAsincrono(lote -> {
+            StringBuilder sb = new StringBuilder();
+            for (EventoAgenda evento : lote) {
+                sb.append(evento.mensaje()).append('\n');
+            }
+            System.out.print(sb);
+        });
+    }
+
+    // -------------------------
+    // 3) API pública
+    // -------------------------
+
+    @Override
+    public void recibir(EventoAgenda evento) {
+        if (cerrado || !cola.offer(evento)) {
+            descartados.increment();
+            return;
+        }
+        // close() pudo llegar entre la comprobación y el offer, y el hilo de entrega ya no volverá a mirar
+        // la cola. Si el evento sigue ahí, lo retiramos y se cuenta como descartado; si no, ya se entregó.
+        if (cerrado && cola.remove(evento)) {
+            descartados.increment();
+        }
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    @Override
+    public void close() {
+        cerrado = true;
+        try {
+            hilo.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------
+    // 4) Helpers (hilo de entrega)
+    // -------------------------
+
+    private void bucleEntrega() {
+        List<EventoAgenda> lote = new ArrayList<>(tamanioLote);
+        try {
+            while (!cerrado || !cola.isEmpty()) {
+                EventoAgenda primero = cola.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (primero == null) continue;
+
+                lote.add(primero);
+                cola.drainTo(lote, tamanioLote - 1);
+                entregar(lote);
+                lote.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void entregar(List<EventoAgenda> lote) {
+        try {
+            destino.accept(lote);
+        } catch (RuntimeException ex) {
+            // Un destino roto no debe matar el hilo: se informa y se sigue con el siguiente lote.
+            System.err.println("Error entregando eventos de la agenda: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package app;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Resumen de un alta masiva (Agenda.anadirContactos).
+ *
+ * - getResultado(i): resultado del i-ésimo contacto del lote (mismo orden que la entrada).
+ * - contar(resultado): cuántos contactos terminaron con ese resultado.
+ */
+public final class ResultadoLote {
+
+    private static final ResultadoOperacion[] VALORES = ResultadoOperacion.values();
+
+    private final ResultadoOperacion[] resultados;
+    private final int[] conteos = new int[VALORES.length];
+
+    ResultadoLote(int tamanio) {
+        this.resultados = new ResultadoOperacion[tamanio];
+    }
+
+    void registrar(int indice, ResultadoOperacion resultado) {
+        resultados[indice] = resultado;
+        conteos[resultado.ordinal()]++;
+    }
+
+    // -------------------------
+    // API pública
+    // -------------------------
+
+    public int tamanio() {
+        return resultados.length;
+    }
+
+    public ResultadoOperacion getResultado(int indice) {
+        return resultados[indice];
+    }
+
+    public List<ResultadoOperacion> getResultados() {
+        return Collections.unmodifiableList(Arrays.asList(resultados));
+    }
+
+    public int contar(ResultadoOperacion resultado) {
+        return conteos[resultado.ordinal()];
+    }
+
+    public int getAnadidos() {
+        return contar(ResultadoOperacion.OK);
+    }
+
+    @Override
+    public String toString() {
+        return "Añadidos: " + getAnadidos()
+                + " | Duplicados: " + contar(ResultadoOperacion.DUPLICATE)
+                + " | Sin espacio: " + contar(ResultadoOperacion.FULL)
+                + " | Nulos: " + contar(ResultadoOperacion.NULL);
+    }
+}
@@ -0,0 +1,33 @@
+package app;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Resultado de una operación que modifica la Agenda (añadir / eliminar).
+ *
+ * Sustituye al antiguo boolean + System.out.println: la UI decide cómo mostrar el motivo.
+ */
+public enum ResultadoOperacion {
+
+    OK(""),
+    NULL("No se puede añadir: contacto nulo."),
+    FULL("No se puede añadir: la agenda está llena."),
+    DUPLICATE("No se puede añadir: ya existe ese nombre y apellido."),
+    NOT_FOUND("No se eliminó: no existe un contacto con ese ID.");
+
+    private final String mensajeError;
+
+    ResultadoOperacion(String mensajeError) {
+        this.mensajeError = mensajeError;
+    }
+
+    public boolean esExito() {
+        return this == OK;
+    }
+
+    /**
+     * Motivo legible del fallo (vacío si es OK; el mensaje de éxito depende de la operación).
+     */
+    public String getMensajeError() {
+        return mensajeError;
+    }
+}
@@ -0,0 +1,374 @@
+package app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Modo servidor (sin UI): la Agenda por HTTP/JSON con el HttpServer del JDK (jdk.httpserver, sin dependencias).
+ *
+ * Rutas (parámetros en la query o, en POST, como formulario "application/x-www-form-urlencoded"):
+ * - POST   /contactos                          nombre, apellido, telefono -> 201 con el contacto
+ *                                              (400 datos inválidos, 409 DUPLICATE, 507 FULL)
+ * - GET    /contactos?orden=&offset=&limite=  página ordenada (apellido|nombre|id|telefono; por defecto apellido, 0, 50)
+ * - GET    /contactos/buscar?nombre=&apellido= contacto exacto (sin mayúsculas ni acentos) o 404
+ * - GET    /contactos/buscar?prefijo=&limite=  autocompletar
+ * - DELETE /contactos/{id}                     200 o 404
+ * - GET    /estado                             contactos, capacidad, peticiones atendidas...
+ *
+ * Rendimiento:
+ * - Un hilo virtual por petición: una petición lenta (cliente lento, respuesta grande) no ocupa un hilo del SO.
+ * - Agenda.concurrente: las búsquedas no toman locks y las altas/bajas solo coinciden un momento
+ *   (el lock corto del listado, O(log32 n)), así que las peticiones apenas se esperan entre sí.
+ * - Las respuestas se escriben con EscritorJson directamente sobre el socket (sin Strings intermedios);
+ *   las pequeñas van con Content-Length, las grandes por tandas.
+ *
+ * Arranque: java -cp target/classes app.ServidorAgenda [puerto]  (o Main --servidor [puerto]).
+ * Embebido con iniciar(...): lanzar la JVM con -Dsun.net.httpserver.nodelay=true (main ya lo pone).
+ */
+public final class ServidorAgenda implements AutoCloseable {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int PUERTO_POR_DEFECTO = Integer.getInteger("agenda.http.puerto", 8080);
+    private static final int CAPACIDAD = Integer.getInteger("agenda.http.capacidad", Integer.MAX_VALUE);
+    // Conexiones pendientes de aceptar (0 = valor por defecto del SO, normalmente muy bajo para una prueba de carga).
+    private static final int BACKLOG = Integer.getInteger("agenda.http.backlog", 1024);
+
+    // Sin esto el HttpServer del JDK deja activo Nagle: cabeceras y cuerpo salen en dos escrituras y cada respuesta
+    // espera el ACK retardado del cliente (~40 ms por petición en Linux). Se lee al crear el primer HttpServer.
+    // Es de toda la JVM: solo main la pone; quien use iniciar() desde su aplicación la pasa al lanzar la JVM.
+    private static final String PROPIEDAD_SIN_RETARDO = "sun.net.httpserver.nodelay";
+
+    private static final int LIMITE_POR_DEFECTO = 50;
+    private static final int MAX_LIMITE = 1000;
+    private static final int MAX_CUERPO = 64 * 1024;
+
+    private static final String RUTA_CONTACTOS = "/contactos";
+    private static final String RUTA_BUSCAR = "/contactos/buscar";
+    private static final String RUTA_ESTADO = "/estado";
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_CREADO = 201;
+    private static final int HTTP_PETICION_INCORRECTA = 400;
+    private static final int HTTP_NO_ENCONTRADO = 404;
+    private static final int HTTP_METODO_NO_PERMITIDO = 405;
+    private static final int HTTP_CONFLICTO = 409;
+    private static final int HTTP_ERROR_INTERNO = 500;
+    private static final int HTTP_SIN_ESPACIO = 507;
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final Agenda agenda;
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder peticiones = new LongAdder();
+    private final long inicio = System.nanoTime();
+
+    private ServidorAgenda(Agenda agenda, int puerto) throws IOException {
+        this.agenda = agenda;
+        this.servidor = HttpServer.create(new InetSocketAddress(puerto), BACKLOG);
+        servidor.setExecutor(hilos);
+        servidor.createContext(RUTA_CONTACTOS, this::atenderContactos);
+        servidor.createContext(RUTA_ESTADO, this::atenderEstado);
+    }
+
+    // -------------------------
+    // 3) API
+    // -------------------------
+
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty(PROPIEDAD_SIN_RETARDO) == null) {
+            System.setProperty(PROPIEDAD_SIN_RETARDO, "true"); // este proceso es solo el servidor
+        }
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        ServidorAgenda servidor = iniciar(Agenda.concurrente(CAPACIDAD), puerto);
+        System.out.println("Agenda escuchando en http://localhost:" + servidor.getPuerto());
+    }
+
+    /**
+     * Arranca el servidor sobre una agenda. La agenda debe ser thread-safe (Agenda.concurrente).
+     * No toca propiedades de la JVM: para evitar ~40 ms por respuesta (Nagle + ACK retardado), lanzar la JVM
+     * con -Dsun.net.httpserver.nodelay=true (main ya lo hace).
+     *
+     * @param puerto Puerto TCP (0 = uno libre cualquiera; ver getPuerto()).
+     */
+    public static ServidorAgenda iniciar(Agenda agenda, int puerto) throws IOException {
+        ServidorAgenda servidor = new ServidorAgenda(agenda, puerto);
+        servidor.servidor.start();
+        return servidor;
+    }
+
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.close();
+    }
+
+    // -------------------------
+    // 4) Rutas
+    // -------------------------
+
+    private void atenderContactos(HttpExchange intercambio) throws IOException {
+        atender(intercambio, () -> {
+            String ruta = intercambio.getRequestURI().getPath();
+            String metodo = intercambio.getRequestMethod();
+
+            if (ruta.equals(RUTA_CONTACTOS)) {
+                switch (metodo) {
+                    case "GET" -> listar(intercambio);
+                    case "POST" -> anadir(intercambio);
+                    default -> responderError(intercambio, HTTP_METODO_NO_PERMITIDO, "Método no permitido.");
+                }
+            } else if (ruta.equals(RUTA_BUSCAR)) {
+                if (metodo.equals("GET")) {
+                    buscar(intercambio);
+                } else {
+                    responderError(intercambio, HTTP_METODO_NO_PERMITIDO, "Método no permitido.");
+                }
+            } else if (ruta.startsWith(RUTA_CONTACTOS + "/") && metodo.equals("DELETE")) {
+                eliminar(intercambio, ruta.substring(RUTA_CONTACTOS.length() + 1));
+            } else {
+                responderError(intercambio, HTTP_NO_ENCONTRADO, "Ruta desconocida: " + ruta);
+            }
+        });
+    }
+
+    private void atenderEstado(HttpExchange intercambio) throws IOException {
+        atender(intercambio, () -> {
+            EscritorJson json = abrirRespuesta(intercambio, HTTP_OK);
+            json.abrirObjeto()
+                    .campo("contactos").valor(contactos())
+                    .campo("capacidad").valor(agenda.getCapacidadMaxima())
+                    .campo("libres").valor(agenda.espacioLibres())
+                    .campo("peticiones").valor(peticiones.sum())
+                    .campo("activoMs").valor((System.nanoTime() - inicio) / 1_000_000)
+                    .cerrarObjeto();
+            json.terminar();
+        });
+    }
+
+    private void anadir(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = parametros(intercambio);
+        Contacto contacto;
+        try {
+            contacto = new Contacto(parametros.get("nombre"), parametros.get("apellido"), parametros.get("telefono"));
+        } catch (IllegalArgumentException ex) {
+            responderError(intercambio, HTTP_PETICION_INCORRECTA, ex.getMessage());
+            return;
+        }
+
+        ResultadoOperacion resultado = agenda.anadirContacto(contacto);
+        int codigo = switch (resultado) {
+            case OK -> HTTP_CREADO;
+            case FULL -> HTTP_SIN_ESPACIO;
+            default -> HTTP_CONFLICTO;
+        };
+        EscritorJson json = abrirRespuesta(intercambio, codigo);
+        json.abrirObjeto().campo("resultado").valor(resultado.name());
+        if (resultado.esExito()) {
+            json.campo("contacto");
+            escribirContacto(json, contacto);
+        } else {
+            json.campo("error").valor(resultado.getMensajeError());
+        }
+        json.cerrarObjeto().terminar();
+    }
+
+    private void listar(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = parametros(intercambio);
+        OrdenContactos orden;
+        int offset;
+        int limite;
+        try {
+            orden = OrdenContactos.valueOf(parametros.getOrDefault("orden", "apellido").toUpperCase(Locale.ROOT));
+            offset = Integer.parseInt(parametros.getOrDefault("offset", "0"));
+            limite = Math.min(MAX_LIMITE, Integer.parseInt(parametros.getOrDefault("limite", "" + LIMITE_POR_DEFECTO)));
+            if (offset < 0 || limite <= 0) throw new IllegalArgumentException();
+        } catch (IllegalArgumentException ex) { // también NumberFormatException
+            responderError(intercambio, HTTP_PETICION_INCORRECTA, "Parámetros: orden=apellido|nombre|id|telefono, offset >= 0, limite > 0.");
+            return;
+        }
+
+        List<Contacto> pagina = agenda.listarContactos(orden, offset, limite);
+        EscritorJson json = abrirRespuesta(intercambio, HTTP_OK);
+        json.abrirObjeto()
+                .campo("total").valor(contactos())
+                .campo("offset").valor(offset)
+                .campo("contactos");
+        escribirContactos(json, pagina);
+        json.cerrarObjeto().terminar();
+    }
+
+    private void buscar(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = parametros(intercambio);
+        String prefijo = parametros.get("prefijo");
+        if (prefijo != null) {
+            int limite;
+            try {
+                limite = Math.min(MAX_LIMITE, Integer.parseInt(parametros.getOrDefault("limite", "" + LIMITE_POR_DEFECTO)));
+            } catch (NumberFormatException ex) {
+                limite = 0;
+            }
+            if (limite <= 0) {
+                responderError(intercambio, HTTP_PETICION_INCORRECTA, "limite inválido.");
+                return;
+            }
+            EscritorJson json = abrirRespuesta(intercambio, HTTP_OK);
+            json.abrirObjeto().campo("contactos");
+            escribirContactos(json, agenda.buscarPorPrefijo(prefijo, limite));
+            json.cerrarObjeto().terminar();
+            return;
+        }
+
+        Contacto encontrado = agenda.buscaContacto(parametros.get("nombre"), parametros.get("apellido"));
+        if (encontrado == null) {
+            responderError(intercambio, HTTP_NO_ENCONTRADO, "No existe ese contacto.");
+            return;
+        }
+        EscritorJson json = abrirRespuesta(intercambio, HTTP_OK);
+        escribirContacto(json, encontrado);
+        json.terminar();
+    }
+
+    private void eliminar(HttpExchange intercambio, String textoId) throws IOException {
+        long id;
+        try {
+            id = Long.parseLong(textoId);
+        } catch (NumberFormatException ex) {
+            responderError(intercambio, HTTP_PETICION_INCORRECTA, "ID inválido: " + textoId);
+            return;
+        }
+
+        ResultadoOperacion resultado = agenda.eliminarContactoPorId(id);
+        EscritorJson json = abrirRespuesta(intercambio, resultado.esExito() ? HTTP_OK : HTTP_NO_ENCONTRADO);
+        json.abrirObjeto().campo("resultado").valor(resultado.name());
+        if (!resultado.esExito()) {
+            json.campo("error").valor(resultado.getMensajeError());
+        }
+        json.cerrarObjeto().terminar();
+    }
+
+    // -------------------------
+    // 5) Helpers
+    // -------------------------
+
+    private int contactos() {
+        return agenda.getCapacidadMaxima() - agenda.espacioLibres();
+    }
+
+    @FunctionalInterface
+    private interface Manejador {
+        void manejar() throws IOException;
+    }
+
+    /**
+     * Cuenta la petición y convierte cualquier fallo inesperado en un 500 (el hilo virtual no se pierde en silencio).
+     * El intercambio se cierra al final (finally), no antes de los catch: cerrarlo sin cabeceras enviadas
+     * cierra la conexión, y el 400/500 ya no llegaría al cliente.
+     */
+    private void atender(HttpExchange intercambio, Manejador manejador) throws IOException {
+        peticiones.increment();
+        try {
+            manejador.manejar();
+        } catch (IllegalArgumentException ex) { // p.ej. un "%zz" mal codificado en los parámetros
+            if (intercambio.getResponseCode() == -1) { // aún no se enviaron cabeceras
+                responderError(intercambio, HTTP_PETICION_INCORRECTA, ex.getMessage());
+            }
+        } catch (RuntimeException ex) {
+            if (intercambio.getResponseCode() == -1) {
+                responderError(intercambio, HTTP_ERROR_INTERNO, String.valueOf(ex.getMessage()));
+            }
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    private static EscritorJson abrirRespuesta(HttpExchange intercambio, int codigo) {
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        return new EscritorJson(largo -> {
+            intercambio.sendResponseHeaders(codigo, largo);
+            return intercambio.getResponseBody();
+        });
+    }
+
+    private static void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        EscritorJson json = abrirRespuesta(intercambio, codigo);
+        json.abrirObjeto().campo("error").valor(mensaje).cerrarObjeto().terminar();
+    }
+
+    private static void escribirContactos(EscritorJson json, List<Contacto> contactos) throws IOException {
+        json.abrirLista();
+        for (Contacto contacto : contactos) {
+            escribirContacto(json, contacto);
+        }
+        json.cerrarLista();
+    }
+
+    private static void escribirContacto(EscritorJson json, Contacto contacto) throws IOException {
+        json.abrirObjeto()
+                .campo("id").valor(contacto.getId())
+                .campo("nombre").valor(contacto.getNombre())
+                .campo("apellido").valor(contacto.getApellido())
+                .campo("telefono").valor(contacto.getTelefono())
+                .cerrarObjeto();
+    }
+
+    /**
+     * Parámetros de la query y, en POST, del cuerpo (formulario). Si un nombre se repite, gana el último.
+     */
+    private static Map<String, String> parametros(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = new HashMap<>();
+        agregarParametros(intercambio.getRequestURI().getRawQuery(), parametros);
+
+        if (intercambio.getRequestMethod().equals("POST")) {
+            try (InputStream cuerpo = intercambio.getRequestBody()) {
+                byte[] bytes = cuerpo.readNBytes(MAX_CUERPO);
+                agregarParametros(new String(bytes, StandardCharsets.UTF_8), parametros);
+            }
+        }
+        return parametros;
+    }
+
+    private static void agregarParametros(String texto, Map<String, String> parametros) {
+        if (texto == null || texto.isEmpty()) return;
+
+        int desde = 0;
+        while (desde <= texto.length()) {
+            int fin = texto.indexOf('&', desde);
+            if (fin < 0) fin = texto.length();
+            int igual = texto.indexOf('=', desde);
+            if (igual > desde && igual < fin) {
+                parametros.put(decodificar(texto.substring(desde, igual)), decodificar(texto.substring(igual + 1, fin)));
+            }
+            desde = fin + 1;
+        }
+    }
+
+    private static String decodificar(String texto) {
+        // Sin '%' ni '+' (lo habitual: "ana", "50") no hay nada que decodificar.
+        if (texto.indexOf('%') < 0 && texto.indexOf('+') < 0) return texto;
+        return URLDecoder.decode(texto, StandardCharsets.UTF_8);
+    }
+}
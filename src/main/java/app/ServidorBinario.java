@@ -0,0 +1,367 @@
+package app;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Servidor TCP con el protocolo binario de ProtocoloBinario, para consultas entre servicios
+ * (sin el coste de HTTP/JSON). Cliente incluido: ClienteBinario.
+ *
+ * - Un solo hilo con un Selector NIO atiende todas las conexiones (no bloqueante).
+ * - Pipelining: se procesan todas las tramas completas que haya en el buffer de entrada y las respuestas
+ *   se acumulan en el de salida; una sola escritura al socket por tanda.
+ * - Multi-get: una petición trae hasta MAX_POR_LOTE IDs o nombres; una respuesta los trae todos.
+ * - Memoria: cada conexión toma dos ByteBuffer directos de un pool y los devuelve al cerrarse.
+ *   En régimen estable no se reserva nada por petición (salvo los String de los nombres que se buscan).
+ * - Contrapresión: si el cliente no lee y la salida se llena, se deja de leer de esa conexión
+ *   hasta que se pueda volver a escribir.
+ *
+ * Las operaciones corren en el hilo del Selector: si la agenda se comparte con otros hilos
+ * (p.ej. con ServidorAgenda), debe ser Agenda.concurrente.
+ *
+ * Arranque: java -cp target/classes app.ServidorBinario [puerto]  (o Main --binario [puerto]).
+ */
+public final class ServidorBinario implements AutoCloseable {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int PUERTO_POR_DEFECTO = Integer.getInteger("agenda.binario.puerto", 7070);
+    private static final int CAPACIDAD = Integer.getInteger("agenda.binario.capacidad", Integer.MAX_VALUE);
+    private static final int BACKLOG = 1024;
+    private static final int RESPUESTA_MINIMA = ProtocoloBinario.LARGO_PREFIJO + ProtocoloBinario.LARGO_CABECERA;
+
+    // Buffers libres que se conservan (2 por conexión); los que sobran se dejan al GC.
+    private static final int MAX_BUFFERS_LIBRES = 256;
+
+    /**
+     * Estado de una conexión: sus dos buffers (entrada en modo escritura; salida con lo pendiente de enviar).
+     */
+    private static final class Conexion {
+        final SocketChannel canal;
+        final ByteBuffer entrada;
+        final ByteBuffer salida;
+
+        Conexion(SocketChannel canal, ByteBuffer entrada, ByteBuffer salida) {
+            this.canal = canal;
+            this.entrada = entrada;
+            this.salida = salida;
+        }
+    }
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private final Agenda agenda;
+    private final Selector selector;
+    private final ServerSocketChannel servidor;
+    private final Thread hilo;
+    private volatile boolean cerrando;
+
+    // Solo los toca el hilo del Selector.
+    private final ArrayDeque<ByteBuffer> buffersLibres = new ArrayDeque<>();
+    private final byte[] temporal = new byte[ProtocoloBinario.MAX_TEXTO];
+    private final Consumer<SelectionKey> atenderClave = this::atender;
+
+    private ServidorBinario(Agenda agenda, int puerto) throws IOException {
+        this.agenda = agenda;
+        this.selector = Selector.open();
+        this.servidor = ServerSocketChannel.open();
+        servidor.bind(new InetSocketAddress(puerto), BACKLOG);
+        servidor.configureBlocking(false);
+        servidor.register(selector, SelectionKey.OP_ACCEPT);
+        this.hilo = Thread.ofPlatform().name("agenda-binario").unstarted(this::bucle);
+    }
+
+    // -------------------------
+    // 3) API
+    // -------------------------
+
+    public static void main(String[] args) throws IOException {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        ServidorBinario servidor = iniciar(Agenda.concurrente(CAPACIDAD), puerto);
+        System.out.println("Agenda (binario) escuchando en el puerto " + servidor.getPuerto());
+    }
+
+    /**
+     * Arranca el servidor en su propio hilo.
+     *
+     * @param puerto Puerto TCP (0 = uno libre cualquiera; ver getPuerto()).
+     */
+    public static ServidorBinario iniciar(Agenda agenda, int puerto) throws IOException {
+        ServidorBinario servidor = new ServidorBinario(agenda, puerto);
+        servidor.hilo.start();
+        return servidor;
+    }
+
+    public int getPuerto() {
+        return servidor.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        cerrando = true;
+        selector.wakeup();
+        try {
+            hilo.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------
+    // 4) Bucle del Selector
+    // -------------------------
+
+    private void bucle() {
+        try (selector; servidor) {
+            while (!cerrando) {
+                // select(acción) en vez de selectedKeys(): sin iterador ni nodos del HashSet por evento.
+                selector.select(atenderClave);
+            }
+            for (SelectionKey clave : selector.keys()) {
+                if (clave.attachment() instanceof Conexion conexion) cerrar(clave, conexion);
+            }
+        } catch (IOException ex) {
+            System.err.println("ServidorBinario: " + ex.getMessage());
+        }
+    }
+
+    private void atender(SelectionKey clave) {
+        if (!clave.isValid()) return;
+        if (clave.isAcceptable()) {
+            aceptar();
+            return;
+        }
+
+        Conexion conexion = (Conexion) clave.attachment();
+        try {
+            if (clave.isWritable()) {
+                enviar(clave, conexion);
+            }
+            if (clave.isValid() && clave.isReadable()) {
+                recibir(clave, conexion);
+            }
+        } catch (IOException | RuntimeException ex) { // cliente desconectado o trama corrupta
+            cerrar(clave, conexion);
+        }
+    }
+
+    private void aceptar() {
+        try {
+            SocketChannel canal;
+            while ((canal = servidor.accept()) != null) {
+                canal.configureBlocking(false);
+                canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Conexion conexion = new Conexion(canal, tomarBuffer(), tomarBuffer());
+                canal.register(selector, SelectionKey.OP_READ, conexion);
+            }
+        } catch (IOException ex) {
+            System.err.println("ServidorBinario: " + ex.getMessage());
+        }
+    }
+
+    private void recibir(SelectionKey clave, Conexion conexion) throws IOException {
+        if (conexion.canal.read(conexion.entrada) < 0) {
+            cerrar(clave, conexion);
+            return;
+        }
+        procesar(conexion);
+        enviar(clave, conexion);
+    }
+
+    /**
+     * Escribe lo pendiente. Mientras quede algo, se espera OP_WRITE y no se lee más (contrapresión);
+     * al vaciarse, se procesan las peticiones que esperaban sitio en la salida.
+     */
+    private void enviar(SelectionKey clave, Conexion conexion) throws IOException {
+        ByteBuffer salida = conexion.salida;
+        while (true) {
+            salida.flip();
+            conexion.canal.write(salida);
+            salida.compact();
+            if (salida.position() > 0) {
+                clave.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            // Salida vacía: si había peticiones esperando sitio, se procesan ahora.
+            if (!procesar(conexion)) break;
+        }
+        clave.interestOps(SelectionKey.OP_READ);
+    }
+
+    // -------------------------
+    // 5) Peticiones
+    // -------------------------
+
+    /**
+     * Procesa las tramas completas de la entrada mientras sus respuestas quepan en la salida.
+     *
+     * @return true si se generó alguna respuesta.
+     */
+    private boolean procesar(Conexion conexion) throws IOException {
+        ByteBuffer entrada = conexion.entrada;
+        ByteBuffer salida = conexion.salida;
+        boolean respondio = false;
+
+        entrada.flip();
+        try {
+            while (entrada.remaining() >= ProtocoloBinario.LARGO_PREFIJO) {
+                int inicio = entrada.position();
+                int largo = entrada.getInt(inicio);
+                if (largo < ProtocoloBinario.LARGO_CABECERA || largo > ProtocoloBinario.MAX_TRAMA) {
+                    throw new IOException("Trama inválida: " + largo + " bytes.");
+                }
+                int fin = inicio + ProtocoloBinario.LARGO_PREFIJO + largo;
+                if (fin > entrada.limit()) break; // trama incompleta: esperar más bytes
+
+                int inicioSalida = salida.position();
+                if (salida.remaining() < RESPUESTA_MINIMA) break; // ni siquiera cabe una respuesta de error
+                if (!responder(entrada, inicio, fin, salida)) {
+                    if (inicioSalida > 0) { // no cabe detrás de otras: se reintenta con la salida vacía
+                        entrada.position(inicio);
+                        break;
+                    }
+                    escribirError(salida, entrada.getInt(inicio + ProtocoloBinario.LARGO_PREFIJO),
+                            ProtocoloBinario.RESPUESTA_DEMASIADO_GRANDE);
+                }
+                entrada.position(fin);
+                respondio = true;
+            }
+        } finally {
+            entrada.compact();
+        }
+        return respondio;
+    }
+
+    /**
+     * Escribe en la salida la respuesta a la trama [inicio, fin) de la entrada.
+     *
+     * @return false si la respuesta no cabe en lo que queda de la salida (la salida queda a medias).
+     */
+    private boolean responder(ByteBuffer entrada, int inicio, int fin, ByteBuffer salida) {
+        int limite = entrada.limit();
+        entrada.limit(fin).position(inicio + ProtocoloBinario.LARGO_PREFIJO);
+        int idPeticion = entrada.getInt();
+        byte operacion = entrada.get();
+
+        int inicioSalida = salida.position();
+        try {
+            salida.putInt(0); // largo: se corrige al final
+            salida.putInt(idPeticion);
+            salida.put(ProtocoloBinario.OK);
+            switch (operacion) {
+                case ProtocoloBinario.OBTENER_POR_IDS -> obtenerPorIds(entrada, salida);
+                case ProtocoloBinario.OBTENER_POR_NOMBRES -> obtenerPorNombres(entrada, salida);
+                case ProtocoloBinario.ANADIR -> anadir(entrada, salida, inicioSalida);
+                case ProtocoloBinario.ELIMINAR -> eliminar(entrada, salida, inicioSalida);
+                case ProtocoloBinario.ESTADO -> {
+                    salida.putInt(agenda.getCapacidadMaxima() - agenda.espacioLibres());
+                    salida.putInt(agenda.getCapacidadMaxima());
+                }
+                default -> {
+                    salida.position(inicioSalida);
+                    escribirError(salida, idPeticion, ProtocoloBinario.OPERACION_DESCONOCIDA);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException ex) { // datos incompletos o inválidos
+            salida.position(inicioSalida);
+            escribirError(salida, idPeticion, ProtocoloBinario.PETICION_INVALIDA);
+        } catch (BufferOverflowException ex) {
+            salida.position(inicioSalida);
+            return false;
+        } finally {
+            entrada.limit(limite);
+        }
+
+        salida.putInt(inicioSalida, salida.position() - inicioSalida - ProtocoloBinario.LARGO_PREFIJO);
+        return true;
+    }
+
+    private void obtenerPorIds(ByteBuffer entrada, ByteBuffer salida) {
+        int n = leerTamanioLote(entrada);
+        salida.putInt(n);
+        for (int i = 0; i < n; i++) {
+            ProtocoloBinario.escribirContacto(salida, agenda.buscarPorId(entrada.getLong()));
+        }
+    }
+
+    private void obtenerPorNombres(ByteBuffer entrada, ByteBuffer salida) {
+        int n = leerTamanioLote(entrada);
+        salida.putInt(n);
+        for (int i = 0; i < n; i++) {
+            String nombre = ProtocoloBinario.leerTexto(entrada, temporal);
+            String apellido = ProtocoloBinario.leerTexto(entrada, temporal);
+            ProtocoloBinario.escribirContacto(salida, agenda.buscaContacto(nombre, apellido));
+        }
+    }
+
+    private void anadir(ByteBuffer entrada, ByteBuffer salida, int inicioSalida) {
+        String nombre = ProtocoloBinario.leerTexto(entrada, temporal);
+        String apellido = ProtocoloBinario.leerTexto(entrada, temporal);
+        String telefono = ProtocoloBinario.leerTexto(entrada, temporal);
+        Contacto contacto = new Contacto(nombre, apellido, telefono); // IllegalArgumentException -> PETICION_INVALIDA
+
+        ResultadoOperacion resultado = agenda.anadirContacto(contacto);
+        salida.put(inicioSalida + ProtocoloBinario.LARGO_PREFIJO + Integer.BYTES, ProtocoloBinario.estadoDe(resultado));
+        salida.putLong(resultado.esExito() ? contacto.getId() : EventoAgenda.SIN_ID);
+    }
+
+    private void eliminar(ByteBuffer entrada, ByteBuffer salida, int inicioSalida) {
+        ResultadoOperacion resultado = agenda.eliminarContactoPorId(entrada.getLong());
+        salida.put(inicioSalida + ProtocoloBinario.LARGO_PREFIJO + Integer.BYTES, ProtocoloBinario.estadoDe(resultado));
+    }
+
+    private static int leerTamanioLote(ByteBuffer entrada) {
+        int n = entrada.getInt();
+        if (n < 0 || n > ProtocoloBinario.MAX_POR_LOTE) {
+            throw new IllegalArgumentException("Lote inválido: " + n);
+        }
+        return n;
+    }
+
+    private static void escribirError(ByteBuffer salida, int idPeticion, byte estado) {
+        salida.putInt(ProtocoloBinario.LARGO_CABECERA);
+        salida.putInt(idPeticion);
+        salida.put(estado);
+    }
+
+    // -------------------------
+    // 6) Helpers (conexiones y pool de buffers)
+    // -------------------------
+
+    private ByteBuffer tomarBuffer() {
+        ByteBuffer buffer = buffersLibres.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(ProtocoloBinario.TAMANIO_BUFFER);
+    }
+
+    private void devolverBuffer(ByteBuffer buffer) {
+        if (buffersLibres.size() < MAX_BUFFERS_LIBRES) {
+            buffersLibres.push(buffer.clear());
+        }
+    }
+
+    private void cerrar(SelectionKey clave, Conexion conexion) {
+        clave.cancel();
+        try {
+            conexion.canal.close();
+        } catch (IOException ignored) {
+            // ya estaba cerrado
+        }
+        devolverBuffer(conexion.entrada);
+        devolverBuffer(conexion.salida);
+    }
+}
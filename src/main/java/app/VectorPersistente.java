@@ -0,0 +1,207 @@
+package app;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * DOCUMENTACIÓN PARA EL EQUIPO:
+ * Lista con instantáneas O(1): un vector persistente (árbol de 32 hijos por nodo, como los de Clojure/Scala).
+ *
+ * - instantanea() no copia nada: devuelve una vista inmutable de la raíz actual.
+ * - Las escrituras modifican los nodos "propios" en su sitio (tan barato como un array) y copian
+ *   solo los nodos que comparten con alguna instantánea: el camino hoja-raíz, O(log32 n) = 4 nodos con 1M.
+ *   Para eso cada nodo recuerda la "edición" que lo creó; tomar una instantánea abre una edición nueva,
+ *   así que ningún nodo visible desde una instantánea se vuelve a tocar.
+ * - Operaciones: añadir al final, reemplazar y quitar el último (lo justo para "swap-with-last").
+ *
+ * No es thread-safe para escribir; las instantáneas se pueden leer desde cualquier hilo
+ * (publicadas con happens-before: lock, executor, etc.).
+ */
+final class VectorPersistente<T> {
+
+    // -------------------------
+    // 1) Configuración
+    // -------------------------
+
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+
+    /**
+     * Nodo interno (hijos = Nodo) u hoja (hijos = elementos).
+     */
+    private static final class Nodo {
+        final Object edicion;
+        final Object[] hijos;
+
+        Nodo(Object edicion, Object[] hijos) {
+            this.edicion = edicion;
+            this.hijos = hijos;
+        }
+    }
+
+    // -------------------------
+    // 2) Estado
+    // -------------------------
+
+    private Object edicion = new Object();
+    private Nodo raiz = new Nodo(edicion, new Object[ANCHO]);
+    private int nivel; // desplazamiento de la raíz: 0 => la raíz es una hoja
+    private int tamanio;
+
+    // Última instantánea; se reutiliza mientras no haya escrituras.
+    private List<T> instantanea;
+
+    // -------------------------
+    // 3) Operaciones
+    // -------------------------
+
+    int size() {
+        return tamanio;
+    }
+
+    T get(int indice) {
+        Objects.checkIndex(indice, tamanio);
+        return elemento(raiz, nivel, indice);
+    }
+
+    void add(T valor) {
+        if (tamanio == capacidad()) {
+            Nodo nuevaRaiz = new Nodo(edicion, new Object[ANCHO]);
+            nuevaRaiz.hijos[0] = raiz;
+            raiz = nuevaRaiz;
+            nivel += BITS;
+        }
+        hojaEditable(tamanio, true).hijos[tamanio & MASCARA] = valor;
+        tamanio++;
+    }
+
+    void set(int indice, T valor) {
+        Objects.checkIndex(indice, tamanio);
+        hojaEditable(indice, false).hijos[indice & MASCARA] = valor;
+    }
+
+    T quitarUltimo() {
+        int ultimo = tamanio - 1;
+        T valor = get(ultimo);
+        hojaEditable(ultimo, false).hijos[ultimo & MASCARA] = null; // sin referencias colgando para el GC
+        tamanio = ultimo;
+
+        // Si ya cabe en un nivel menos, la raíz baja (sus otros hijos solo tienen huecos vacíos).
+        while (nivel > 0 && tamanio <= capacidad() >>> BITS) {
+            raiz = (Nodo) raiz.hijos[0];
+            nivel -= BITS;
+        }
+        return valor;
+    }
+
+    /**
+     * Vista inmutable del contenido actual. O(1): no copia elementos.
+     */
+    List<T> instantanea() {
+        if (instantanea == null) {
+            instantanea = new Instantanea<>(raiz, nivel, tamanio);
+            edicion = new Object(); // desde aquí, los nodos actuales pertenecen a la instantánea
+        }
+        return instantanea;
+    }
+
+    // -------------------------
+    // 4) Helpers
+    // -------------------------
+
+    private long capacidad() {
+        return 1L << (nivel + BITS);
+    }
+
+    /**
+     * Hoja que contiene "indice", copiando los nodos del camino que no sean de la edición actual.
+     */
+    private Nodo hojaEditable(int indice, boolean crearSiFalta) {
+        instantanea = null;
+        raiz = editable(raiz);
+        Nodo nodo = raiz;
+        for (int n = nivel; n > 0; n -= BITS) {
+            int i = (indice >>> n) & MASCARA;
+            Nodo hijo = (Nodo) nodo.hijos[i];
+            hijo = hijo == null && crearSiFalta ? new Nodo(edicion, new Object[ANCHO]) : editable(hijo);
+            nodo.hijos[i] = hijo;
+            nodo = hijo;
+        }
+        return nodo;
+    }
+
+    private Nodo editable(Nodo nodo) {
+        return nodo.edicion == edicion ? nodo : new Nodo(edicion, nodo.hijos.clone());
+    }
+
+    private static Object[] hoja(Nodo raiz, int nivel, int indice) {
+        Nodo nodo = raiz;
+        for (int n = nivel; n > 0; n -= BITS) {
+            nodo = (Nodo) nodo.hijos[(indice >>> n) & MASCARA];
+        }
+        return nodo.hijos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T elemento(Nodo raiz, int nivel, int indice) {
+        return (T) hoja(raiz, nivel, indice)[indice & MASCARA];
+    }
+
+    /**
+     * Vista de solo lectura de una versión. Sus nodos ya no se modifican nunca.
+     */
+    private static final class Instantanea<T> extends AbstractList<T> implements RandomAccess {
+
+        private final Nodo raiz;
+        private final int nivel;
+        private final int tamanio;
+
+        Instantanea(Nodo raiz, int nivel, int tamanio) {
+            this.raiz = raiz;
+            this.nivel = nivel;
+            this.tamanio = tamanio;
+        }
+
+        @Override
+        public T get(int indice) {
+            Objects.checkIndex(indice, tamanio);
+            return elemento(raiz, nivel, indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+
+        /**
+         * Recorre hoja a hoja: baja por el árbol una vez cada 32 elementos, no en cada uno.
+         */
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int siguiente;
+                private Object[] hojaActual;
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente < tamanio;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (siguiente >= tamanio) throw new NoSuchElementException();
+                    if ((siguiente & MASCARA) == 0 || hojaActual == null) {
+                        hojaActual = hoja(raiz, nivel, siguiente);
+                    }
+                    return (T) hojaActual[siguiente++ & MASCARA];
+                }
+            };
+        }
+    }
+}